@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,6 +24,9 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.micrometer.registry.prometheus)
+    implementation(libs.redisson)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -31,13 +35,23 @@ dependencies {
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    sourceCompatibility = JavaVersion.VERSION_21
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
     toolVersion = "0.8.7"
 }
 
+// benchmark tasks (./gradlew jmh, 소스: src/jmh/java)
+jmh {
+    jmhVersion = libs.versions.jmh.core.get()
+    includeTests = true // 테스트와 같은 PointHistoryWriters 로 기록기를 만든다.
+    fork = 1
+    warmupIterations = 2
+    iterations = 3
+    resultFormat = "JSON"
+}
+
 // bundling tasks
 tasks.getByName("bootJar") {
     enabled = true
@@ -49,4 +63,6 @@ tasks.getByName("jar") {
 tasks.test {
     ignoreFailures = true
     useJUnitPlatform()
+    // 가상 스레드가 carrier 스레드에 고정(pinning)되면 스택을 출력한다.
+    jvmArgs("-Djdk.tracePinnedThreads=short")
 }
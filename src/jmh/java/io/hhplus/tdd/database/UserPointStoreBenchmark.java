@@ -0,0 +1,56 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 포인트 저장소 조회/저장 처리량
+ *  - table: 지연 없는 UserPointTable (ConcurrentHashMap<Long, UserPoint>)
+ *  - primitive: PrimitiveUserPointStore
+ *  - 요청당 할당량은 JMH gc 프로파일러(-prof gc)로 함께 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class UserPointStoreBenchmark {
+
+    @Param({"table", "primitive"})
+    public String store;
+
+    @Param({"1000000"})
+    public int userCount;
+
+    private UserPointStore userPointStore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userPointStore = switch (store) {
+            case "table" -> new TableUserPointStore(new NoThrottleUserPointTable(), new PointMetrics(new SimpleMeterRegistry()));
+            case "primitive" -> new PrimitiveUserPointStore(64, userCount);
+            default -> throw new IllegalArgumentException(store);
+        };
+        for (long id = 1; id <= userCount; id++) {
+            userPointStore.insertOrUpdate(id, id % 1000);
+        }
+    }
+
+    @Benchmark
+    public UserPoint selectById() {
+        return userPointStore.selectById(randomUserId());
+    }
+
+    @Benchmark
+    public UserPoint insertOrUpdate() {
+        return userPointStore.insertOrUpdate(randomUserId(), 100L);
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, userCount + 1);
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.NoThrottlePointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 이력 조회 비용
+ *  - tableScan: PointHistoryTable.selectAllByUserId (전체 이력 순회)
+ *  - index: PointHistoryIndex (해당 사용자 이력만 복사)
+ *  - 전체 이력은 userCount 명에게 고르게 나뉘어 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointHistoryLookupBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int tableSize;
+
+    @Param({"1000"})
+    public int userCount;
+
+    private NoThrottlePointHistoryTable pointHistoryTable;
+
+    private PointHistoryIndex pointHistoryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pointHistoryTable = new NoThrottlePointHistoryTable();
+        for (int i = 0; i < tableSize; i++) {
+            pointHistoryTable.insert(i % userCount + 1, 100L, TransactionType.CHARGE, i);
+        }
+        pointHistoryIndex = new PointHistoryIndex();
+        for (long userId = 1; userId <= userCount; userId++) {
+            long id = userId;
+            pointHistoryIndex.findAllByUserId(id, () -> pointHistoryTable.selectAllByUserId(id));
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> tableScan() {
+        return pointHistoryTable.selectAllByUserId(randomUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> index() {
+        long userId = randomUserId();
+        return pointHistoryIndex.findAllByUserId(userId, () -> pointHistoryTable.selectAllByUserId(userId));
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, userCount + 1);
+    }
+}
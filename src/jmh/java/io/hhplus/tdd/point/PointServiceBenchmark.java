@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.NoThrottlePointHistoryTable;
+import io.hhplus.tdd.database.NoThrottleUserPointTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.PointHistoryWriters;
+import io.hhplus.tdd.database.TableUserPointStore;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.database.VersionedUserPointStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 충전/사용 처리량
+ *  - 테이블 지연이 없는 테이블을 사용해 락, 요청 합치기, 캐시, 이력 기록 요청 등 서비스 코드 비용을 측정한다.
+ *  - distribution: uniform 은 userCount 명에게 고르게, hot 은 한 사용자에게 모든 요청이 몰리는 경우이다.
+ *  - engine: lock 은 사용자 락 + 요청 합치기, optimistic 은 버전 비교 저장 + 재시도이다.
+ *  - 한 번의 호출마다 충전 후 같은 금액을 사용해 포인트 한도에 걸리지 않도록 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PointServiceBenchmark {
+
+    @Param({"uniform", "hot"})
+    public String distribution;
+
+    @Param({"10000"})
+    public int userCount;
+
+    @Param({"lock", "optimistic"})
+    public String engine;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    private PointHistoryWriter pointHistoryWriter;
+
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserPointStore userPointStore = new TableUserPointStore(new NoThrottleUserPointTable(), pointMetrics);
+        VersionedUserPointStore versionedStore = null;
+        if ("optimistic".equals(engine)) {
+            versionedStore = new VersionedUserPointStore(userPointStore);
+            userPointStore = versionedStore;
+        }
+        UserPointCache userPointCache = new UserPointCache(userPointStore, userCount);
+        pointHistoryWriter = PointHistoryWriters.inMemory(new NoThrottlePointHistoryTable(), 100_000, 1_000, pointMetrics);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        PointCommandExecutor pointCommandExecutor = "optimistic".equals(engine)
+                ? new OptimisticPointExecutor(userPointCache, versionedStore, pointCommandProcessor, pointMetrics, 1_000, Duration.ofNanos(10_000), Duration.ofMillis(1))
+                : new PointCommandCoalescer(new UserLockManager(new LocalUserLockProvider(), pointMetrics), pointCommandProcessor, pointMetrics);
+        pointService = new PointService(userPointCache, pointHistoryWriter, pointCommandExecutor, pointMetrics,
+                new IdempotencyCache(0, Duration.ZERO, pointMetrics), 1000, 500);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoint chargeAndUse_1thread() {
+        return chargeAndUse();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UserPoint chargeAndUse_4threads() {
+        return chargeAndUse();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public UserPoint chargeAndUse_16threads() {
+        return chargeAndUse();
+    }
+
+    private UserPoint chargeAndUse() {
+        long userId = "hot".equals(distribution) ? 1L : ThreadLocalRandom.current().nextLong(1, userCount + 1);
+        pointService.chargeUserPoint(userId, 100L);
+        return pointService.usePoint(userId, 100L);
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이력 목록 응답 직렬화 비용 (JSON / 바이너리)
+ *  - json: Jackson ObjectMapper (HTTP 응답의 기본 형식)
+ *  - binary: PointBinaryCodec (Accept: application/vnd.hhplus.point)
+ *  - 한 사용자의 이력 historyCount 건을 버리는 스트림에 쓰고 쓴 바이트 수를 반환한다. (직렬화 비용만 측정)
+ *  - 이력은 여러 사용자의 이력이 섞인 테이블에서 한 사용자 것만 모은 것처럼 id 가 띄엄띄엄 늘어나고, 금액/시각 간격은 무작위이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointWireFormatBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int historyCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<PointHistory> histories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        histories = new ArrayList<>(historyCount);
+        long id = 0;
+        long updateMillis = 1_792_000_000_000L;
+        for (int i = 0; i < historyCount; i++) {
+            id += 1 + random.nextInt(64);
+            updateMillis += random.nextInt(5_000);
+            TransactionType type = random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE;
+            histories.add(new PointHistory(id, 1L, 100 + random.nextInt(100_000), type, updateMillis));
+        }
+    }
+
+    @Benchmark
+    public long json() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        objectMapper.writeValue(outputStream, histories);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long binary() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        PointBinaryCodec.writeHistories(histories, outputStream);
+        return outputStream.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
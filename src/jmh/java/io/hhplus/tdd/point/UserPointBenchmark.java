@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserPoint 충전/사용 규칙 계산 비용
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserPointBenchmark {
+
+    private UserPoint userPoint;
+
+    @Setup
+    public void setUp() {
+        userPoint = new UserPoint(1L, 500_000L, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public long chargePoint() {
+        return userPoint.chargePoint(1_000L);
+    }
+
+    @Benchmark
+    public long usePoint() {
+        return userPoint.usePoint(1_000L);
+    }
+}
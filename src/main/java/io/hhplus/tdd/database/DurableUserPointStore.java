@@ -0,0 +1,293 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 스냅샷 + WAL 로 재시작 후에도 포인트를 복원하는 저장소
+ *  - 저장은 원래 저장소(UserPointTable)에 기록한 뒤, 저장된 포인트를 메모리의 전체 포인트 목록과 WAL 에 남긴다.
+ *    조회는 전체 포인트 목록에 있으면 그 값을, 없으면 원래 저장소의 값을 반환한다.
+ *    (UserPointTable 은 전체 목록을 읽는 API 가 없어 스냅샷을 뜨기 위해 목록을 따로 유지한다.)
+ *  - 스냅샷은 start() 이후 snapshot-interval 마다 백그라운드에서 뜬다. WAL 을 새 세그먼트로 넘기는 순간만 저장이 잠시 멈추고,
+ *    전체 목록을 파일로 쓰는 동안에도 저장은 계속된다. 스냅샷을 다 쓰면 그 이전의 WAL 세그먼트를 지운다.
+ *  - 시작 시 가장 최근 스냅샷을 읽고, 스냅샷 이후의 WAL 세그먼트만 이어서 반영한다.
+ *  - 복원한 포인트는 원래 저장소에 다시 기록하지 않는다. (UserPointTable 의 지연 때문에)
+ * 스냅샷 파일: [magic 4][version 4][WAL 세그먼트 번호 8] + [id 8][point 8][updateMillis 8] * n + [n 8][CRC32C 4]
+ */
+public class DurableUserPointStore implements UserPointStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DurableUserPointStore.class);
+
+    private static final int MAGIC = 0x55505353; // "UPSS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 24;
+    private static final int TRAILER_SIZE = 12;
+    private static final int IO_BUFFER_SIZE = RECORD_SIZE * 64 * 1024;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final UserPointStore delegate;
+
+    private final Path directory;
+
+    private final UserPointWal wal;
+
+    private final ConcurrentHashMap<Long, UserPoint> userPoints = new ConcurrentHashMap<>();
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private final Duration snapshotInterval;
+
+    private ScheduledExecutorService snapshotScheduler;
+
+    public DurableUserPointStore(UserPointStore delegate, Path directory, Duration snapshotInterval, Duration walFsyncInterval) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.wal = new UserPointWal(directory, walFsyncInterval);
+        this.snapshotInterval = snapshotInterval;
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("사용자 포인트를 복원할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 주기적인 스냅샷 시작
+     *  - 스케줄러 스레드가 생성 중인 저장소를 보지 않도록 생성이 끝난 뒤 호출한다. (snapshot-interval 이 0 이면 시작하지 않는다.)
+     */
+    public void start() {
+        if (snapshotInterval.isZero() || snapshotScheduler != null) {
+            return;
+        }
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-point-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = snapshotInterval.toMillis();
+        snapshotScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException | RuntimeException e) {
+                log.error("사용자 포인트 스냅샷에 실패했습니다.", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint userPoint = userPoints.get(id);
+        return userPoint != null ? userPoint : delegate.selectById(id);
+    }
+
+    /*
+     * 목록을 먼저 갱신하고 WAL 에 기록한다.
+     * WAL 을 넘기기(rotate) 전에 기록된 값은 목록에 이미 반영되어 있으므로 이후에 뜨는 스냅샷에 포함되고,
+     * 넘긴 뒤에 기록된 값은 새 WAL 세그먼트에 남는다. (같은 사용자의 저장은 호출하는 쪽에서 직렬화한다.)
+     */
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint updated = delegate.insertOrUpdate(id, amount);
+        userPoints.put(id, updated);
+        wal.append(updated);
+        return updated;
+    }
+
+    /**
+     * 스냅샷 뜨기
+     *  - WAL 을 새 세그먼트로 넘긴 뒤 전체 목록을 임시 파일에 쓰고, 다 쓰면 이름을 바꿔 확정한다.
+     *  - 확정된 스냅샷보다 앞선 스냅샷과 WAL 세그먼트는 지운다.
+     */
+    public SnapshotResult snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            long start = System.nanoTime();
+            long walSegment = wal.rotate();
+            long pauseNanos = System.nanoTime() - start;
+
+            Path snapshot = snapshotPath(walSegment);
+            Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+            long count = writeSnapshot(temp, walSegment);
+            Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE);
+
+            for (Path old : listSnapshots()) {
+                if (!old.equals(snapshot)) {
+                    Files.deleteIfExists(old);
+                }
+            }
+            wal.deleteBefore(walSegment);
+            SnapshotResult result = new SnapshotResult(count, Files.size(snapshot), pauseNanos, System.nanoTime() - start);
+            log.info("사용자 포인트 스냅샷: {}명, {}바이트, 저장 중단 {}us, 전체 {}ms",
+                    result.count(), result.bytes(), TimeUnit.NANOSECONDS.toMicros(result.pauseNanos()), TimeUnit.NANOSECONDS.toMillis(result.totalNanos()));
+            return result;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        wal.close();
+    }
+
+    // 복원된 사용자 수
+    public int size() {
+        return userPoints.size();
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        long start = System.nanoTime();
+        List<Path> snapshots = listSnapshots();
+        long walSegment = 1;
+        long snapshotCount = 0;
+        if (!snapshots.isEmpty()) {
+            Path latest = snapshots.get(snapshots.size() - 1);
+            walSegment = readSnapshot(latest);
+            snapshotCount = userPoints.size();
+        }
+        long walCount = wal.replay(walSegment, userPoint -> userPoints.put(userPoint.id(), userPoint));
+        log.info("사용자 포인트 복원: 스냅샷 {}명, WAL {}건, {}ms", snapshotCount, walCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private long writeSnapshot(Path path, long walSegment) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+            CRC32C crc = new CRC32C();
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(walSegment);
+            long count = 0;
+            for (UserPoint userPoint : userPoints.values()) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    flush(channel, buffer, crc);
+                }
+                buffer.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+                count++;
+            }
+            flush(channel, buffer, crc);
+            buffer.putLong(count).putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+            return count;
+        }
+    }
+
+    // 헤더를 제외한 내용으로 CRC 를 계산하며 파일에 쓴다.
+    private void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+        buffer.flip();
+        int contentStart = channel.position() == 0 ? HEADER_SIZE : 0;
+        crc.update(buffer.slice(contentStart, buffer.limit() - contentStart));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // 스냅샷을 목록에 적재하고, 이어서 반영할 WAL 세그먼트 번호를 반환한다.
+    private long readSnapshot(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long contentSize = size - HEADER_SIZE - TRAILER_SIZE;
+            if (contentSize < 0 || contentSize % RECORD_SIZE != 0) {
+                throw new IllegalStateException("사용자 포인트 스냅샷이 손상되었습니다. " + path);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IllegalStateException("사용자 포인트 스냅샷 형식이 아닙니다. " + path);
+            }
+            long walSegment = header.getLong(8);
+
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+            readFully(channel, trailer, size - TRAILER_SIZE);
+            long count = trailer.getLong(0);
+            if (count != contentSize / RECORD_SIZE) {
+                throw new IllegalStateException("사용자 포인트 스냅샷이 손상되었습니다. " + path);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+            CRC32C crc = new CRC32C();
+            long position = HEADER_SIZE;
+            long end = HEADER_SIZE + contentSize;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                readFully(channel, buffer, position);
+                crc.update(buffer.slice(0, buffer.limit()));
+                for (int offset = 0; offset < buffer.limit(); offset += RECORD_SIZE) {
+                    long id = buffer.getLong(offset);
+                    userPoints.put(id, new UserPoint(id, buffer.getLong(offset + 8), buffer.getLong(offset + 16)));
+                }
+                position += buffer.limit();
+            }
+            if ((int) crc.getValue() != trailer.getInt(8)) {
+                throw new IllegalStateException("사용자 포인트 스냅샷이 손상되었습니다. " + path);
+            }
+            return walSegment;
+        }
+    }
+
+    private void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IllegalStateException("사용자 포인트 스냅샷이 손상되었습니다.");
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String fileName = path.getFileName().toString();
+                        return fileName.startsWith(SNAPSHOT_PREFIX) && fileName.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path snapshotPath(long walSegment) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, walSegment, SNAPSHOT_SUFFIX));
+    }
+
+    /**
+     * 스냅샷 결과
+     *  - pauseNanos: WAL 을 넘기느라 저장이 멈춘 시간
+     *  - totalNanos: 스냅샷 전체 시간
+     */
+    public record SnapshotResult(
+            long count,
+            long bytes,
+            long pauseNanos,
+            long totalNanos
+    ) {
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * fencing token 검사 저장소
+ *  - 사용자별로 지금까지 본 가장 큰 fencing token 을 기억하고, 그보다 작은 token 의 저장은 IllegalStateException 으로 거절한다.
+ *    사용자 락의 lease 가 만료된 뒤에 늦게 도착한 이전 보유자의 저장이 새 보유자의 저장을 덮어쓰지 못하게 한다.
+ *  - token 은 저장할 때뿐 아니라 새 보유자가 포인트를 읽기 전(fence)에도 기록한다.
+ *    저장 때만 기록하면 새 보유자가 읽은 뒤 저장하기 전에 도착한 이전 보유자의 저장이 받아들여지고,
+ *    새 보유자는 그 저장을 모른 채 읽어 둔 값으로 덮어쓴다.
+ *  - token 검사와 저장은 사용자별로 한 번에 처리한다. (userId 해시로 나눈 락)
+ *  - NO_FENCING_TOKEN 으로 저장하면 검사하지 않는다.
+ *  - 여러 서버가 함께 쓰는 저장소 앞에 하나만 두어야 의미가 있다. (실제 DB 라면 조건부 갱신으로 같은 검사를 한다.)
+ */
+public class FencedUserPointStore implements UserPointStore {
+
+    private static final int STRIPES = 64;
+
+    private final UserPointStore delegate;
+
+    private final ConcurrentHashMap<Long, Long> highestTokens = new ConcurrentHashMap<>();
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public FencedUserPointStore(UserPointStore delegate) {
+        this.delegate = delegate;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return delegate.selectById(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return delegate.insertOrUpdate(id, amount);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount, long fencingToken) {
+        if (fencingToken == NO_FENCING_TOKEN) {
+            return delegate.insertOrUpdate(id, amount);
+        }
+        ReentrantLock lock = lockOf(id);
+        lock.lock();
+        try {
+            advance(id, fencingToken);
+            return delegate.insertOrUpdate(id, amount, fencingToken);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void fence(long id, long fencingToken) {
+        if (fencingToken == NO_FENCING_TOKEN) {
+            return;
+        }
+        ReentrantLock lock = lockOf(id);
+        lock.lock();
+        try {
+            advance(id, fencingToken);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 사용자 락 안에서 호출한다. 지금까지 본 token 보다 작으면 거절하고, 아니면 가장 큰 token 으로 기록한다.
+    private void advance(long id, long fencingToken) {
+        Long highest = highestTokens.get(id);
+        if (highest != null && fencingToken < highest) {
+            throw new IllegalStateException("만료된 사용자 락으로는 포인트를 조회하거나 저장할 수 없습니다. (fencing token " + fencingToken + " < " + highest + ")");
+        }
+        highestTokens.put(id, fencingToken);
+    }
+
+    private ReentrantLock lockOf(long id) {
+        return locks[Math.floorMod(Long.hashCode(id), STRIPES)];
+    }
+}
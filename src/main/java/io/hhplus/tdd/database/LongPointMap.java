@@ -0,0 +1,199 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long(id) → (point, updateMillis) 맵 (primitive 배열, open addressing)
+ *  - 사용자마다 객체를 만들지 않고 stripe 별 long[] 하나에 [id][point][updateMillis] 를 이어서 저장한다.
+ *    (HashMap<Long, UserPoint> 는 사용자마다 Long, HashMap.Node, UserPoint 객체 3개가 필요하다.)
+ *  - 키는 stripe 로 나누어 저장하고, 저장은 stripe 별 쓰기 락으로, 조회는 락 없이(StampedLock 낙관적 읽기) 처리한다.
+ *    조회 도중 같은 stripe 에 저장이 일어나면 읽기 락으로 다시 읽는다.
+ *  - 삭제는 지원하지 않는다. (UserPointTable 과 같다.)
+ *  - stripe 의 사용률이 MAX_LOAD 를 넘으면 그 stripe 만 두 배로 늘린다.
+ */
+final class LongPointMap {
+
+    private static final int SLOT_WIDTH = 3; // id, point, updateMillis
+    private static final double MAX_LOAD = 0.75;
+    private static final long EMPTY = 0L; // id 0 은 stripe 의 별도 필드에 저장한다.
+
+    private final Stripe[] stripes;
+
+    private final int stripeShift;
+
+    LongPointMap(int stripeCount, int initialCapacity) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("stripe 수는 2의 거듭제곱이어야 합니다.");
+        }
+        int capacityPerStripe = Integer.highestOneBit(Math.max(2, initialCapacity / stripeCount) - 1) << 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(capacityPerStripe);
+        }
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    // 없으면 null 을 반환한다.
+    UserPoint get(long id) {
+        long hash = hash(id);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.tryOptimisticRead();
+        UserPoint found = stripe.find(id, hash);
+        if (!stripe.lock.validate(stamp)) {
+            stamp = stripe.lock.readLock();
+            try {
+                found = stripe.find(id, hash);
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    void put(long id, long point, long updateMillis) {
+        long hash = hash(id);
+        Stripe stripe = stripeOf(hash);
+        long stamp = stripe.lock.writeLock();
+        try {
+            stripe.put(id, hash, point, updateMillis);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    // 슬롯 배열이 차지하는 바이트 수 (배열 헤더 제외)
+    long allocatedBytes() {
+        long bytes = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                bytes += (long) stripe.slots.length * Long.BYTES;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return bytes;
+    }
+
+    private Stripe stripeOf(long hash) {
+        return stripes[stripeShift == 64 ? 0 : (int) (hash >>> stripeShift)];
+    }
+
+    // 연속된 id 도 고르게 흩어지도록 섞는다. (MurmurHash3 fmix64)
+    private static long hash(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+
+        // 이하 쓰기는 lock 의 쓰기 락 안에서만 한다.
+        private long[] slots;
+        private int mask; // 슬롯 수 - 1
+        private int size;
+        private boolean hasZeroId;
+        private long zeroIdPoint;
+        private long zeroIdUpdateMillis;
+
+        Stripe(int capacity) {
+            this.slots = new long[capacity * SLOT_WIDTH];
+            this.mask = capacity - 1;
+        }
+
+        // 낙관적 읽기 중에는 배열이 바뀌거나 값이 섞여 읽힐 수 있으므로, 호출하는 쪽에서 검증한 뒤에만 결과를 사용한다.
+        UserPoint find(long id, long hash) {
+            if (id == EMPTY) {
+                return hasZeroId ? new UserPoint(id, zeroIdPoint, zeroIdUpdateMillis) : null;
+            }
+            long[] current = slots;
+            int currentMask = (current.length / SLOT_WIDTH) - 1;
+            int slot = (int) hash & currentMask;
+            for (int probe = 0; probe <= currentMask; probe++) {
+                int base = slot * SLOT_WIDTH;
+                long key = current[base];
+                if (key == id) {
+                    return new UserPoint(id, current[base + 1], current[base + 2]);
+                }
+                if (key == EMPTY) {
+                    return null;
+                }
+                slot = (slot + 1) & currentMask;
+            }
+            return null;
+        }
+
+        void put(long id, long hash, long point, long updateMillis) {
+            if (id == EMPTY) {
+                if (!hasZeroId) {
+                    size++;
+                }
+                hasZeroId = true;
+                zeroIdPoint = point;
+                zeroIdUpdateMillis = updateMillis;
+                return;
+            }
+            if (size + 1 > (mask + 1) * MAX_LOAD) {
+                resize();
+            }
+            int slot = (int) hash & mask;
+            while (true) {
+                int base = slot * SLOT_WIDTH;
+                long key = slots[base];
+                if (key == id || key == EMPTY) {
+                    if (key == EMPTY) {
+                        slots[base] = id;
+                        size++;
+                    }
+                    slots[base + 1] = point;
+                    slots[base + 2] = updateMillis;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private void resize() {
+            long[] old = slots;
+            int capacity = (mask + 1) << 1;
+            long[] resized = new long[capacity * SLOT_WIDTH];
+            int newMask = capacity - 1;
+            for (int base = 0; base < old.length; base += SLOT_WIDTH) {
+                long key = old[base];
+                if (key == EMPTY) {
+                    continue;
+                }
+                int slot = (int) hash(key) & newMask;
+                while (resized[slot * SLOT_WIDTH] != EMPTY) {
+                    slot = (slot + 1) & newMask;
+                }
+                int target = slot * SLOT_WIDTH;
+                resized[target] = key;
+                resized[target + 1] = old[base + 1];
+                resized[target + 2] = old[base + 2];
+            }
+            slots = resized;
+            mask = newMask;
+        }
+    }
+}
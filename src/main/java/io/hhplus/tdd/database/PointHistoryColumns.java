@@ -0,0 +1,196 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 한 사용자의 기록된 포인트 이력 (열 단위 저장)
+ *  - 이력마다 PointHistory 객체를 두지 않고 필드별 열(column)로 나누어 저장한다.
+ *    조각마다 long[] 하나에 [id 열][amount 열][updateMillis 열]을 차례로 두고, type 은 byte[] 에 저장한다.
+ *    사용자 단위로 나누어 저장하므로 userId 는 한 번만 저장한다.
+ *  - 배열은 CHUNK_SIZE 건 단위의 조각으로 나누어 이력이 늘어나도 기존 조각을 복사하지 않는다.
+ *    마지막 조각만 1.5배씩 늘려 이력이 적은 사용자가 조각 하나를 통째로 할당하지 않도록 한다.
+ *  - PointHistory 는 조회 결과로 반환할 때에만 만든다.
+ *  - 추가는 id 오름차순으로만 한다. 동기화는 호출하는 쪽(PointHistoryIndex)이 한다.
+ *  - 시각(updateMillis) 순서 색인: 위치를 updateMillis 오름차순(같으면 id 순)으로 정렬한 배열로 시각 구간을 이진 탐색한다.
+ *    보통은 이력이 시각 순서대로 추가되어 저장 순서가 곧 시각 순서이므로 색인을 따로 두지 않고,
+ *    앞선 이력보다 이른 시각의 이력이 처음 추가될 때에만 만든다.
+ */
+final class PointHistoryColumns {
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT; // 4096건
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int INITIAL_CAPACITY = 4;
+    private static final long[][] NO_LONGS = new long[0][];
+    private static final byte[][] NO_TYPES = new byte[0][];
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long userId;
+
+    // 조각 i 의 열: longs[i] = [id × capacity][amount × capacity][updateMillis × capacity], types[i] = [type × capacity]
+    private long[][] longs = NO_LONGS;
+    private byte[][] types = NO_TYPES;
+
+    private int size;
+
+    // 시각 순서 i 번째 이력의 위치 (저장 순서가 곧 시각 순서인 동안에는 null)
+    private int[] byTime;
+
+    PointHistoryColumns(long userId) {
+        this.userId = userId;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long idAt(int index) {
+        return longs[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    long lastId() {
+        return idAt(size - 1);
+    }
+
+    long updateMillisAt(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        return longs[chunk][2 * types[chunk].length + (index & CHUNK_MASK)];
+    }
+
+    PointHistory get(int index) {
+        int chunk = index >>> CHUNK_SHIFT;
+        return read(longs[chunk], types[chunk], index & CHUNK_MASK);
+    }
+
+    void add(PointHistory pointHistory) {
+        int rank = size;
+        if (byTime != null || (size > 0 && pointHistory.updateMillis() < updateMillisAt(size - 1))) {
+            rank = firstRankAfter(pointHistory.updateMillis());
+        }
+        append(pointHistory);
+        if (rank < size - 1 || byTime != null) {
+            insertByTime(rank, size - 1);
+        }
+    }
+
+    // updateMillis 가 [fromMillis, toMillis] 구간인 이력을 시각 순서대로 target 에 추가한다.
+    void copyByTimeTo(List<PointHistory> target, long fromMillis, long toMillis) {
+        int from = firstRankAfter(fromMillis - 1);
+        int to = firstRankAfter(toMillis);
+        if (from >= to) {
+            return;
+        }
+        if (byTime == null) {
+            copyTo(target, from, to);
+            return;
+        }
+        for (int rank = from; rank < to; rank++) {
+            target.add(get(byTime[rank]));
+        }
+    }
+
+    private void append(PointHistory pointHistory) {
+        int chunk = size >>> CHUNK_SHIFT;
+        int offset = size & CHUNK_MASK;
+        if (chunk == longs.length) {
+            longs = Arrays.copyOf(longs, chunk + 1);
+            types = Arrays.copyOf(types, chunk + 1);
+            int capacity = chunk == 0 ? INITIAL_CAPACITY : CHUNK_SIZE;
+            longs[chunk] = new long[capacity * 3];
+            types[chunk] = new byte[capacity];
+        } else if (offset == types[chunk].length) {
+            grow(chunk, Math.min(offset + (offset >> 1), CHUNK_SIZE));
+        }
+        long[] columns = longs[chunk];
+        int capacity = types[chunk].length;
+        columns[offset] = pointHistory.id();
+        columns[capacity + offset] = pointHistory.amount();
+        columns[2 * capacity + offset] = pointHistory.updateMillis();
+        types[chunk][offset] = (byte) pointHistory.type().ordinal();
+        size++;
+    }
+
+    // [from, to) 구간의 이력을 조각 단위로 순서대로 읽어 target 에 추가한다.
+    void copyTo(List<PointHistory> target, int from, int to) {
+        int index = from;
+        while (index < to) {
+            int chunk = index >>> CHUNK_SHIFT;
+            long[] columns = longs[chunk];
+            byte[] chunkTypes = types[chunk];
+            int offset = index & CHUNK_MASK;
+            int end = offset + Math.min(to - index, CHUNK_SIZE - offset);
+            for (int i = offset; i < end; i++) {
+                target.add(read(columns, chunkTypes, i));
+            }
+            index += end - offset;
+        }
+    }
+
+    // id 가 afterId 보다 큰 첫 이력의 위치
+    int firstIndexAfter(long afterId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (idAt(mid) <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // updateMillis 가 millis 보다 늦은 첫 이력의 시각 순서
+    private int firstRankAfter(long millis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (updateMillisAt(byTime == null ? mid : byTime[mid]) <= millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // 위치 index 의 이력을 시각 순서 rank 에 끼워 넣는다. (index 는 마지막 위치)
+    private void insertByTime(int rank, int index) {
+        if (byTime == null) {
+            byTime = new int[Math.max(INITIAL_CAPACITY, index + (index >> 1) + 1)];
+            for (int i = 0; i < index; i++) {
+                byTime[i] = i;
+            }
+        } else if (index == byTime.length) {
+            byTime = Arrays.copyOf(byTime, index + (index >> 1) + 1);
+        }
+        System.arraycopy(byTime, rank, byTime, rank + 1, index - rank);
+        byTime[rank] = index;
+    }
+
+    private PointHistory read(long[] columns, byte[] chunkTypes, int offset) {
+        int capacity = chunkTypes.length;
+        return new PointHistory(columns[offset], userId, columns[capacity + offset], TYPES[chunkTypes[offset]], columns[2 * capacity + offset]);
+    }
+
+    private void grow(int chunk, int capacity) {
+        long[] columns = longs[chunk];
+        int oldCapacity = types[chunk].length;
+        long[] grown = new long[capacity * 3];
+        for (int column = 0; column < 3; column++) {
+            System.arraycopy(columns, column * oldCapacity, grown, column * capacity, oldCapacity);
+        }
+        longs[chunk] = grown;
+        types[chunk] = Arrays.copyOf(types[chunk], capacity);
+    }
+}
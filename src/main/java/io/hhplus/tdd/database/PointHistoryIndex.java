@@ -0,0 +1,244 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 포인트 이력 색인 (이력 조회 모델)
+ *  - userId → 이력 목록을 유지해 이력 조회 비용이 전체 이력 수가 아닌 해당 사용자의 이력 수에 비례하도록 한다.
+ *  - PointHistoryWriter 가 이력을 적재(pending)하고 테이블에 기록(written)할 때마다 증분 갱신된다.
+ *  - 처음 조회되는 사용자는 PointHistoryTable 에서 한 번 적재한 뒤부터는 색인으로만 응답한다.
+ *  - 재시작 시 PointHistoryJournal 에서 복원한 이력은 restore 로 적재된다. (테이블에는 다시 기록하지 않는다.)
+ *  - 기록된 이력은 id 오름차순이므로 id 커서 기준 페이지 조회는 이진 탐색으로 시작 위치를 찾는다.
+ *  - 기록된 이력은 PointHistoryColumns 에 열 단위로 저장하고, 조회 결과로 반환할 때에만 PointHistory 를 만든다.
+ *    (PointHistoryWriter 를 거치지 않고 테이블에 직접 기록된 이력은 적재 이후에는 반영되지 않는다.)
+ *  - 시각 구간 조회는 PointHistoryColumns 의 시각 순서 색인을 이진 탐색하므로 비용이 결과 건수에 비례한다.
+ *  - 사용자별 요약(종류별 합계/건수, 처음/마지막 시각)도 이력이 추가될 때마다 함께 갱신해 요약 조회는 이력 수와 관계없이 응답한다.
+ *    적재로 이력이 합쳐지거나 기록에 실패해 이력이 빠지는 경우에만 해당 사용자의 이력으로 다시 계산한다.
+ */
+@Component
+public class PointHistoryIndex {
+
+    private final ConcurrentHashMap<Long, UserHistory> histories = new ConcurrentHashMap<>();
+
+    // 테이블 기록 대기 중인 이력 추가
+    public void addPending(PointHistory pending) {
+        historyOf(pending.userId()).addPending(pending);
+    }
+
+    // 저널에서 복원한 이력 추가 (id 순서대로 호출된다.)
+    public void restore(PointHistory written) {
+        historyOf(written.userId()).restore(written);
+    }
+
+    // 대기 중이던 이력을 테이블에 기록된 이력(id 발급)으로 교체한다. 기록에 실패했다면 written 은 null 이다.
+    public void promote(PointHistory pending, PointHistory written) {
+        historyOf(pending.userId()).promote(pending, written);
+    }
+
+    /**
+     * 사용자 이력 조회
+     *  - 테이블에 기록된 이력 뒤에 기록 대기 중인 이력을 이어서 반환한다.
+     *  - 색인에 적재되지 않은 사용자라면 loader 로 테이블의 이력을 한 번 적재한다.
+     */
+    public List<PointHistory> findAllByUserId(long userId, Supplier<List<PointHistory>> loader) {
+        UserHistory userHistory = historyOf(userId);
+        if (!userHistory.isLoaded()) {
+            userHistory.load(loader.get());
+        }
+        return userHistory.snapshot();
+    }
+
+    /**
+     * 사용자 이력 페이지 조회 (id 커서)
+     *  - 테이블에 기록된 이력 중 id 가 afterId 보다 큰 이력을 최대 limit 건 반환한다.
+     *  - includePending 이면 마지막 페이지에 기록 대기 중인 이력을 이어 붙인다. (대기 중인 이력은 id 가 없어 커서로 쓸 수 없다.)
+     */
+    public PointHistoryPage findPageByUserId(long userId, long afterId, int limit, boolean includePending, Supplier<List<PointHistory>> loader) {
+        UserHistory userHistory = historyOf(userId);
+        if (!userHistory.isLoaded()) {
+            userHistory.load(loader.get());
+        }
+        return userHistory.page(afterId, limit, includePending);
+    }
+
+    /**
+     * 사용자 이력 시각 구간 조회
+     *  - updateMillis 가 [fromMillis, toMillis] 구간인 기록된 이력을 시각 순서대로 반환하고, 구간에 드는 기록 대기 중인 이력을 뒤에 이어 붙인다.
+     */
+    public List<PointHistory> findByTimeRange(long userId, long fromMillis, long toMillis, Supplier<List<PointHistory>> loader) {
+        UserHistory userHistory = historyOf(userId);
+        if (!userHistory.isLoaded()) {
+            userHistory.load(loader.get());
+        }
+        return userHistory.range(fromMillis, toMillis);
+    }
+
+    /**
+     * 사용자 이력 요약 조회
+     *  - 기록 대기 중인 이력까지 포함한 요약을 반환한다. (findAllByUserId 결과를 합산한 것과 같다.)
+     */
+    public PointSummary findSummaryByUserId(long userId, Supplier<List<PointHistory>> loader) {
+        UserHistory userHistory = historyOf(userId);
+        if (!userHistory.isLoaded()) {
+            userHistory.load(loader.get());
+        }
+        return userHistory.summary();
+    }
+
+    private UserHistory historyOf(long userId) {
+        return histories.computeIfAbsent(userId, UserHistory::new);
+    }
+
+    private static final class UserHistory {
+        private final long userId;
+        private PointHistoryColumns written;
+        private final List<PointHistory> pending = new ArrayList<>();
+        private boolean loaded;
+
+        // 요약 (written + pending 기준)
+        private long totalCharged;
+        private long totalUsed;
+        private long chargeCount;
+        private long useCount;
+        private long firstUpdateMillis;
+        private long lastUpdateMillis;
+
+        UserHistory(long userId) {
+            this.userId = userId;
+            this.written = new PointHistoryColumns(userId);
+        }
+
+        synchronized boolean isLoaded() {
+            return loaded;
+        }
+
+        synchronized void addPending(PointHistory pointHistory) {
+            pending.add(pointHistory);
+            count(pointHistory);
+        }
+
+        synchronized void restore(PointHistory pointHistory) {
+            if (isAfterLast(pointHistory)) {
+                written.add(pointHistory);
+                count(pointHistory);
+            }
+        }
+
+        synchronized void promote(PointHistory pointHistory, PointHistory writtenHistory) {
+            pending.remove(pointHistory);
+            if (writtenHistory != null && isAfterLast(writtenHistory)) {
+                written.add(writtenHistory); // 대기 중이던 이력과 금액/종류/시각이 같으므로 요약은 그대로다.
+            } else {
+                recount();
+            }
+        }
+
+        /*
+         * 테이블에서 읽어온 이력과, 적재 전에 이미 색인에 반영된 이력을 id 기준으로 합친다.
+         * 테이블 id 는 기록 순서대로 증가하므로 읽어온 이력의 앞(저널에서 복원한 이력)과
+         * 마지막 id 이후의 이력만 이어 붙이면 된다.
+         */
+        synchronized void load(List<PointHistory> tableHistories) {
+            if (loaded) {
+                return;
+            }
+            if (tableHistories.isEmpty()) {
+                loaded = true;
+                return;
+            }
+            long firstLoadedId = tableHistories.get(0).id();
+            long lastLoadedId = tableHistories.get(tableHistories.size() - 1).id();
+            PointHistoryColumns merged = new PointHistoryColumns(userId);
+            int index = 0;
+            for (; index < written.size() && written.idAt(index) < firstLoadedId; index++) {
+                merged.add(written.get(index));
+            }
+            tableHistories.forEach(merged::add);
+            for (index = written.firstIndexAfter(lastLoadedId); index < written.size(); index++) {
+                merged.add(written.get(index));
+            }
+            written = merged;
+            loaded = true;
+            recount();
+        }
+
+        synchronized List<PointHistory> snapshot() {
+            List<PointHistory> result = new ArrayList<>(written.size() + pending.size());
+            written.copyTo(result, 0, written.size());
+            result.addAll(pending);
+            return result;
+        }
+
+        synchronized PointHistoryPage page(long afterId, int limit, boolean includePending) {
+            int from = written.firstIndexAfter(afterId);
+            int to = Math.min(from + limit, written.size());
+            List<PointHistory> items = new ArrayList<>(to - from + (includePending ? pending.size() : 0));
+            written.copyTo(items, from, to);
+            if (to < written.size()) {
+                return new PointHistoryPage(items, items.get(items.size() - 1).id());
+            }
+            if (includePending) {
+                items.addAll(pending);
+            }
+            return new PointHistoryPage(items, null);
+        }
+
+        synchronized List<PointHistory> range(long fromMillis, long toMillis) {
+            List<PointHistory> result = new ArrayList<>();
+            written.copyByTimeTo(result, fromMillis, toMillis);
+            for (PointHistory pointHistory : pending) {
+                if (pointHistory.updateMillis() >= fromMillis && pointHistory.updateMillis() <= toMillis) {
+                    result.add(pointHistory);
+                }
+            }
+            return result;
+        }
+
+        synchronized PointSummary summary() {
+            return new PointSummary(userId, totalCharged, totalUsed, chargeCount, useCount, firstUpdateMillis, lastUpdateMillis);
+        }
+
+        private void count(PointHistory pointHistory) {
+            if (pointHistory.type() == TransactionType.CHARGE) {
+                totalCharged += pointHistory.amount();
+                chargeCount++;
+            } else {
+                totalUsed += pointHistory.amount();
+                useCount++;
+            }
+            if (chargeCount + useCount == 1) {
+                firstUpdateMillis = pointHistory.updateMillis();
+                lastUpdateMillis = pointHistory.updateMillis();
+            } else {
+                firstUpdateMillis = Math.min(firstUpdateMillis, pointHistory.updateMillis());
+                lastUpdateMillis = Math.max(lastUpdateMillis, pointHistory.updateMillis());
+            }
+        }
+
+        private void recount() {
+            totalCharged = 0;
+            totalUsed = 0;
+            chargeCount = 0;
+            useCount = 0;
+            firstUpdateMillis = 0;
+            lastUpdateMillis = 0;
+            for (int i = 0; i < written.size(); i++) {
+                count(written.get(i));
+            }
+            pending.forEach(this::count);
+        }
+
+        private boolean isAfterLast(PointHistory pointHistory) {
+            return written.isEmpty() || written.lastId() < pointHistory.id();
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 포인트 이력 저널 (append-only, memory-mapped)
+ *  - 테이블에 기록된 이력을 고정 길이(40바이트) 레코드로 세그먼트 파일에 이어 쓴다.
+ *    [id 8][userId 8][amount 8][updateMillis 8][type 1][예약 3][CRC32C 4]
+ *  - 세그먼트는 segment-size 크기로 미리 매핑해 두고, 가득 차면 디스크에 반영(force)한 뒤 다음 세그먼트로 넘어간다.
+ *  - 디스크 반영은 fsync-interval 마다 한 번씩 모아서 한다. (group fsync, 0 이면 기록할 때마다 반영)
+ *    따라서 장애 시 마지막 반영 이후 fsync-interval 동안의 이력은 유실될 수 있다.
+ *  - 시작 시 replay 로 세그먼트를 순서대로 읽어 이력을 복원한 뒤, 마지막 레코드 다음 위치부터 이어 쓴다.
+ *    CRC 가 맞지 않거나 id 가 증가하지 않는 레코드(쓰다 만 레코드)를 만나면 그 위치를 저널의 끝으로 본다.
+ *  - enabled 가 false 이면 아무것도 기록하지 않는다.
+ */
+@Component
+public class PointHistoryJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryJournal.class);
+
+    static final int RECORD_SIZE = 40;
+    private static final int CHECKSUM_OFFSET = 36;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final boolean enabled;
+
+    private final Path directory;
+
+    private final int segmentBytes; // 레코드 크기의 배수
+
+    private final Duration fsyncInterval;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 이하 lock 으로 보호
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long segmentNumber;
+    private long lastId;
+    private boolean dirty;
+    private boolean opened;
+
+    private ScheduledExecutorService fsyncScheduler;
+
+    public PointHistoryJournal(
+            @Value("${point.history.journal.enabled}") boolean enabled,
+            @Value("${point.history.journal.directory}") Path directory,
+            @Value("${point.history.journal.segment-size}") DataSize segmentSize,
+            @Value("${point.history.journal.fsync-interval}") Duration fsyncInterval
+    ) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentBytes = (int) Math.min(segmentSize.toBytes() / RECORD_SIZE * RECORD_SIZE, Integer.MAX_VALUE / RECORD_SIZE * RECORD_SIZE);
+        this.fsyncInterval = fsyncInterval;
+        if (enabled && segmentBytes < RECORD_SIZE) {
+            throw new IllegalArgumentException("세그먼트 크기는 " + RECORD_SIZE + "바이트 이상이어야 합니다.");
+        }
+    }
+
+    // 기록하지 않는 저널 (테스트, 벤치마크용)
+    public static PointHistoryJournal disabled() {
+        return new PointHistoryJournal(false, Path.of("."), DataSize.ofBytes(RECORD_SIZE), Duration.ZERO);
+    }
+
+    /**
+     * 저널에 남은 이력을 기록 순서대로 복원하고, 이어 쓸 수 있도록 저널을 연다.
+     *  - append 전에 한 번만 호출해야 한다.
+     * @return 복원한 마지막 이력 id (없으면 0)
+     */
+    public long replay(Consumer<PointHistory> consumer) {
+        if (!enabled) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            if (opened) {
+                throw new IllegalStateException("포인트 이력 저널이 이미 열려 있습니다.");
+            }
+            Files.createDirectories(directory);
+            List<Path> segments = listSegments();
+            long count = 0;
+            long start = System.nanoTime();
+            int position = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                boolean last = i == segments.size() - 1;
+                openSegment(segmentNumberOf(segments.get(i)));
+                position = 0;
+                while (position < segmentBytes && isValidRecord(position)) {
+                    PointHistory pointHistory = readRecord(position);
+                    lastId = pointHistory.id();
+                    consumer.accept(pointHistory);
+                    position += RECORD_SIZE;
+                    count++;
+                }
+                if (!last && position < segmentBytes) {
+                    throw new IllegalStateException("포인트 이력 저널이 손상되었습니다. " + segments.get(i) + " (" + position + "바이트 위치)");
+                }
+                if (!last) {
+                    channel.close();
+                }
+            }
+            if (segments.isEmpty()) {
+                openSegment(1);
+            }
+            // 쓰다 만 레코드와 그 뒤의 남은 데이터가 다음 replay 에 섞이지 않도록 비운다.
+            clearFrom(position);
+            buffer.position(position);
+            opened = true;
+            startFsyncScheduler();
+            log.info("포인트 이력 저널 복원: {}건, 마지막 id {}, {}ms", count, lastId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return lastId;
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 이력 저널을 열 수 없습니다.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이력 기록
+     *  - 매핑된 세그먼트에 쓰기만 하고, 디스크 반영은 fsync-interval 마다 모아서 한다.
+     *  - id 는 기록 순서대로 증가해야 한다.
+     */
+    public void append(PointHistory pointHistory) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!opened) {
+                throw new IllegalStateException("포인트 이력 저널이 열려 있지 않습니다.");
+            }
+            if (pointHistory.id() <= lastId) {
+                throw new IllegalArgumentException("포인트 이력 id 는 기록 순서대로 증가해야 합니다. (" + pointHistory.id() + " <= " + lastId + ")");
+            }
+            if (!buffer.hasRemaining()) {
+                buffer.force();
+                channel.close();
+                openSegment(segmentNumber + 1);
+                clearFrom(0);
+            }
+            writeRecord(buffer.position(), pointHistory);
+            buffer.position(buffer.position() + RECORD_SIZE);
+            lastId = pointHistory.id();
+            dirty = true;
+            if (fsyncInterval.isZero()) {
+                force();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("포인트 이력 저널 기록에 실패했습니다.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기록한 이력을 디스크에 반영한다.
+     */
+    public void force() {
+        MappedByteBuffer target;
+        lock.lock();
+        try {
+            if (!dirty) {
+                return;
+            }
+            target = buffer;
+            dirty = false;
+        } finally {
+            lock.unlock();
+        }
+        // 반영하는 동안에도 append 가 막히지 않도록 락 밖에서 반영한다. (세그먼트 전환 시에는 append 가 직접 반영한다.)
+        target.force();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (fsyncScheduler != null) {
+            fsyncScheduler.shutdownNow();
+        }
+        lock.lock();
+        try {
+            if (opened) {
+                buffer.force();
+                channel.close();
+                opened = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%020d%s", number, SEGMENT_SUFFIX));
+    }
+
+    private long segmentNumberOf(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void openSegment(long number) throws IOException {
+        channel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segmentNumber = number;
+    }
+
+    private void clearFrom(int position) {
+        for (int i = position; i < segmentBytes; i += Long.BYTES) {
+            buffer.putLong(i, 0L);
+        }
+    }
+
+    private boolean isValidRecord(int position) {
+        long id = buffer.getLong(position);
+        return id > lastId && buffer.getInt(position + CHECKSUM_OFFSET) == checksum(position)
+                && buffer.get(position + 32) < TYPES.length;
+    }
+
+    private PointHistory readRecord(int position) {
+        return new PointHistory(
+                buffer.getLong(position),
+                buffer.getLong(position + 8),
+                buffer.getLong(position + 16),
+                TYPES[buffer.get(position + 32)],
+                buffer.getLong(position + 24)
+        );
+    }
+
+    private void writeRecord(int position, PointHistory pointHistory) {
+        buffer.putLong(position, pointHistory.id());
+        buffer.putLong(position + 8, pointHistory.userId());
+        buffer.putLong(position + 16, pointHistory.amount());
+        buffer.putLong(position + 24, pointHistory.updateMillis());
+        buffer.put(position + 32, (byte) pointHistory.type().ordinal());
+        buffer.putInt(position + CHECKSUM_OFFSET, checksum(position));
+    }
+
+    private int checksum(int position) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private void startFsyncScheduler() {
+        if (fsyncInterval.isZero()) {
+            return;
+        }
+        fsyncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-history-journal-fsync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = fsyncInterval.toMillis();
+        fsyncScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                force();
+            } catch (RuntimeException e) {
+                log.error("포인트 이력 저널 반영에 실패했습니다.", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+}
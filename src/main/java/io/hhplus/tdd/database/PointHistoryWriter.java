@@ -0,0 +1,402 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 포인트 이력 비동기 기록기 (write-behind)
+ *  - 이력은 크기가 제한된 큐에 쌓이고, 백그라운드 스레드 하나가 도착 순서대로 PointHistoryTable 에 기록한다.
+ *    소비자가 하나이므로 사용자별 기록 순서가 그대로 유지된다.
+ *  - 큐가 가득 차면 append 를 호출한 스레드가 빈 자리가 생길 때까지 대기한다. (backpressure)
+ *  - 적재/기록 시점마다 PointHistoryIndex 를 갱신하고, 조회도 색인을 통해 처리한다.
+ *    아직 테이블에 기록되지 않은 이력도 색인의 대기 목록으로 함께 조회된다. (read-your-writes)
+ *    대기 중인 이력은 테이블이 id 를 발급하기 전이므로 id 가 0 이다.
+ *  - 애플리케이션 종료 시 큐에 남은 이력을 모두 기록한다.
+ *  - 기록 대기 중인 이력 수를 point.history.queue.size 로 노출한다.
+ *  - 테이블에 기록된 이력은 PointHistoryJournal 에도 기록해 재시작 후에도 남도록 한다.
+ *    시작 시 저널의 이력을 색인으로 복원하고, 이후 테이블이 발급하는 id 에는 복원한 마지막 id 를 더해
+ *    재시작 전후의 이력 id 가 겹치지 않고 계속 증가하도록 한다.
+ *  - 테이블에 기록된 이력(id 발급 후)은 기록 순서대로 등록된 리스너(addListener)에 전달한다. (PointHistoryFeed)
+ *  - 테이블 기록에 실패한 이력은 버리지 않고, retry-backoff 부터 두 배씩(최대 max-retry-backoff) 늘어나는 간격으로 기록될 때까지 다시 시도한다.
+ *    그동안 같은 사용자의 이후 이력은 기록하지 않고 실패한 이력 뒤에 붙잡아 두어, 사용자별 id 가 기록 요청 순서대로 늘어나도록 한다.
+ *    (색인과 id 커서 페이지 조회가 이 순서를 전제로 한다.) 다른 사용자의 기록은 막지 않으며, 붙잡힌 이력도 대기 중인 이력으로 조회된다.
+ *    실패 횟수는 point.history.write.failures, 재시도 또는 그 뒤에서 기다리는 이력 수는 point.history.retry.size 로 노출한다.
+ */
+@Component
+public class PointHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+
+    private final PointHistoryTable pointHistoryTable;
+
+    private final PointHistoryIndex pointHistoryIndex;
+
+    private final PointHistoryJournal pointHistoryJournal;
+
+    private final long idOffset; // 저널에서 복원한 마지막 이력 id
+
+    private final BlockingQueue<PointHistory> queue;
+
+    private final int batchSize;
+
+    private final Duration shutdownTimeout;
+
+    private final long retryBackoffNanos;
+
+    private final long maxRetryBackoffNanos;
+
+    // 테이블 기록에 실패한 사용자별 재시도 (기록 스레드만 접근한다.)
+    private final Map<Long, Retry> retries = new HashMap<>();
+    private final AtomicInteger retrySize = new AtomicInteger(); // retries 에 붙잡힌 이력 수
+
+    private final PointMetrics pointMetrics;
+
+    // PointHistoryTable 은 스레드 안전하지 않으므로 테이블 접근은 이 락으로 직렬화한다.
+    private final ReentrantLock tableLock = new ReentrantLock();
+
+    private final ReentrantLock progressLock = new ReentrantLock();
+    private final Condition progressed = progressLock.newCondition();
+    private long appendedCount; // progressLock 으로 보호
+    private long writtenCount;  // progressLock 으로 보호
+
+    private final List<Consumer<PointHistory>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running = true;
+
+    private final Thread worker;
+
+    public PointHistoryWriter(
+            PointHistoryTable pointHistoryTable,
+            PointHistoryIndex pointHistoryIndex,
+            PointHistoryJournal pointHistoryJournal,
+            @Value("${point.history.write-behind.capacity}") int capacity,
+            @Value("${point.history.write-behind.batch-size}") int batchSize,
+            @Value("${point.history.write-behind.shutdown-timeout}") Duration shutdownTimeout,
+            @Value("${point.history.write-behind.retry-backoff}") Duration retryBackoff,
+            @Value("${point.history.write-behind.max-retry-backoff}") Duration maxRetryBackoff,
+            PointMetrics pointMetrics
+    ) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointHistoryIndex = pointHistoryIndex;
+        this.pointHistoryJournal = pointHistoryJournal;
+        this.idOffset = pointHistoryJournal.replay(pointHistoryIndex::restore);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.retryBackoffNanos = retryBackoff.toNanos();
+        this.maxRetryBackoffNanos = maxRetryBackoff.toNanos();
+        this.pointMetrics = pointMetrics;
+        pointMetrics.gauge("point.history.queue.size", "테이블 기록 대기 중인 이력 수", queue, BlockingQueue::size);
+        pointMetrics.gauge("point.history.retry.size", "테이블 기록에 실패해 재시도하거나 그 뒤에서 기다리는 이력 수", retrySize, AtomicInteger::get);
+        this.worker = new Thread(this::drainLoop, "point-history-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 이력 기록 요청
+     *  - 큐에 적재만 하고 바로 반환한다. 큐가 가득 찬 경우에는 자리가 생길 때까지 대기한다.
+     */
+    public void append(long userId, long amount, TransactionType type, long updateMillis) {
+        if (!running) {
+            throw new IllegalStateException("포인트 이력 기록기가 종료되었습니다.");
+        }
+        PointHistory pointHistory = new PointHistory(0, userId, amount, type, updateMillis);
+
+        pointHistoryIndex.addPending(pointHistory);
+        progressLock.lock();
+        try {
+            appendedCount++;
+        } finally {
+            progressLock.unlock();
+        }
+
+        try {
+            queue.put(pointHistory);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pointHistoryIndex.promote(pointHistory, null);
+            markWritten(1);
+            throw new IllegalStateException("포인트 이력 기록 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 사용자 이력 조회
+     *  - 테이블에 기록된 이력 뒤에 아직 기록 대기 중인 이력을 이어서 반환한다.
+     *  - 색인에서 조회하므로 비용은 해당 사용자의 이력 수에 비례한다.
+     */
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return pointHistoryIndex.findAllByUserId(userId, () -> loadFromTable(userId));
+    }
+
+    /**
+     * 사용자 이력 페이지 조회 (id 커서)
+     *  - 테이블에 기록된 이력만 반환한다. 기록 대기 중인 이력은 기록된 뒤에 다음 페이지로 조회된다.
+     */
+    public PointHistoryPage selectPageByUserId(long userId, long afterId, int limit) {
+        return pointHistoryIndex.findPageByUserId(userId, afterId, limit, false, () -> loadFromTable(userId));
+    }
+
+    /**
+     * 사용자 이력 시각 구간 조회
+     *  - updateMillis 가 [fromMillis, toMillis] 구간인 이력을 시각 순서대로 반환한다. (기록 대기 중인 이력은 뒤에 이어진다.)
+     *  - 색인의 시각 순서를 이진 탐색하므로 비용은 해당 사용자의 전체 이력 수가 아닌 결과 건수에 비례한다.
+     */
+    public List<PointHistory> selectByTimeRange(long userId, long fromMillis, long toMillis) {
+        return pointHistoryIndex.findByTimeRange(userId, fromMillis, toMillis, () -> loadFromTable(userId));
+    }
+
+    /**
+     * 사용자 이력 요약 조회
+     *  - 색인이 이력을 추가할 때마다 갱신한 요약을 반환하므로 이력 수와 관계없이 응답한다. (기록 대기 중인 이력 포함)
+     */
+    public PointSummary selectSummaryByUserId(long userId) {
+        return pointHistoryIndex.findSummaryByUserId(userId, () -> loadFromTable(userId));
+    }
+
+    /**
+     * 사용자 이력 순차 조회
+     *  - 전체 목록을 만들지 않고, 소비하는 만큼 chunkSize 건씩 색인에서 꺼낸다.
+     *  - 마지막 조각에는 기록 대기 중인 이력이 이어진다. (selectAllByUserId 와 같은 순서)
+     */
+    public Stream<PointHistory> streamAllByUserId(long userId, int chunkSize) {
+        Iterator<List<PointHistory>> chunks = new Iterator<>() {
+            private Long afterId = 0L; // 마지막 조각을 꺼내면 null
+
+            @Override
+            public boolean hasNext() {
+                return afterId != null;
+            }
+
+            @Override
+            public List<PointHistory> next() {
+                if (afterId == null) {
+                    throw new NoSuchElementException();
+                }
+                PointHistoryPage page = pointHistoryIndex.findPageByUserId(userId, afterId, chunkSize, true, () -> loadFromTable(userId));
+                afterId = page.nextCursor();
+                return page.items();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false)
+                .flatMap(List::stream);
+    }
+
+    /**
+     * 기록 리스너 등록
+     *  - 테이블에 기록된 이력을 기록 순서대로(id 오름차순) 받는다. 색인에 반영된 뒤 호출되므로 받은 이력은 바로 조회된다.
+     *  - 기록 스레드에서 호출되므로 오래 걸리는 작업은 하지 않는다.
+     */
+    public void addListener(Consumer<PointHistory> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 호출 시점까지 적재된 이력이 모두 테이블에 기록될 때까지 대기한다.
+     */
+    public void flush() throws InterruptedException {
+        progressLock.lock();
+        try {
+            long target = appendedCount;
+            while (writtenCount < target) {
+                progressed.await();
+            }
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        worker.join(shutdownTimeout.toMillis());
+        if (worker.isAlive()) {
+            log.warn("포인트 이력 기록이 {} 안에 끝나지 않았습니다. 남은 이력: {}건, 재시도 대기 이력: {}건", shutdownTimeout, queue.size(), retrySize.get());
+        }
+    }
+
+    private void drainLoop() {
+        List<PointHistory> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty() || !retries.isEmpty()) {
+            try {
+                retryDue();
+                PointHistory first = queue.poll(pollTimeoutNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                int written = 0;
+                for (PointHistory pointHistory : batch) {
+                    Retry retry = retries.get(pointHistory.userId());
+                    if (retry != null) {
+                        retry.held.add(pointHistory); // 실패한 이력보다 먼저 기록되지 않도록 뒤에 붙잡아 둔다.
+                        retrySize.incrementAndGet();
+                    } else if (write(pointHistory)) {
+                        written++;
+                    } else {
+                        Retry failed = new Retry();
+                        failed.held.add(pointHistory);
+                        failed.failedAgain(retryBackoffNanos, maxRetryBackoffNanos);
+                        retries.put(pointHistory.userId(), failed);
+                        retrySize.incrementAndGet();
+                    }
+                }
+                markWritten(written);
+            } catch (InterruptedException e) {
+                log.warn("포인트 이력 기록 스레드가 인터럽트되었습니다.");
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 재시도 시각이 된 사용자의 붙잡힌 이력을 순서대로 기록한다. 다시 실패하면 그 이력부터 간격을 늘려 다시 기다린다.
+    private void retryDue() {
+        long now = System.nanoTime();
+        Iterator<Retry> iterator = retries.values().iterator();
+        while (iterator.hasNext()) {
+            Retry retry = iterator.next();
+            if (retry.retryAtNanos - now > 0) {
+                continue;
+            }
+            int written = 0;
+            while (!retry.held.isEmpty() && write(retry.held.peek())) {
+                retry.held.poll();
+                retrySize.decrementAndGet();
+                written++;
+            }
+            markWritten(written);
+            if (retry.held.isEmpty()) {
+                iterator.remove();
+            } else {
+                if (written > 0) {
+                    retry.attempts = 0; // 뒤의 이력이 새로 실패했으므로 간격을 처음부터 늘린다.
+                }
+                retry.failedAgain(retryBackoffNanos, maxRetryBackoffNanos);
+            }
+        }
+    }
+
+    // 재시도할 이력이 있으면 가장 이른 재시도 시각까지만 새 이력을 기다린다.
+    private long pollTimeoutNanos() {
+        long timeout = TimeUnit.MILLISECONDS.toNanos(100);
+        long now = System.nanoTime();
+        for (Retry retry : retries.values()) {
+            timeout = Math.min(timeout, Math.max(0, retry.retryAtNanos - now));
+        }
+        return timeout;
+    }
+
+    // 테이블 기록과 색인 반영을 하나의 단위로 처리해 색인 적재(테이블 조회)와 섞이지 않도록 한다.
+    // 기록에 실패하면 이력은 색인의 대기 목록에 그대로 남고 false 를 반환한다.
+    private boolean write(PointHistory pointHistory) {
+        PointHistory written;
+        tableLock.lock();
+        try {
+            written = withOffset(pointMetrics.recordTable("point_history", "insert",
+                    () -> pointHistoryTable.insert(pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis())));
+            appendJournal(written);
+            pointHistoryIndex.promote(pointHistory, written);
+        } catch (RuntimeException e) {
+            pointMetrics.countHistoryWriteFailure();
+            log.warn("포인트 이력 기록에 실패해 다시 시도합니다. {}", pointHistory, e);
+            return false;
+        } finally {
+            tableLock.unlock();
+        }
+        notifyListeners(written);
+        return true;
+    }
+
+    // 리스너가 실패해도 기록은 계속한다.
+    private void notifyListeners(PointHistory written) {
+        for (Consumer<PointHistory> listener : listeners) {
+            try {
+                listener.accept(written);
+            } catch (RuntimeException e) {
+                log.error("포인트 이력 리스너 처리에 실패했습니다. {}", written, e);
+            }
+        }
+    }
+
+    // 저널 기록에 실패해도 테이블에 기록된 이력은 그대로 조회된다. (재시작 시에만 유실된다.)
+    private void appendJournal(PointHistory written) {
+        try {
+            pointHistoryJournal.append(written);
+        } catch (RuntimeException e) {
+            log.error("포인트 이력 저널 기록에 실패했습니다. {}", written, e);
+        }
+    }
+
+    private List<PointHistory> loadFromTable(long userId) {
+        tableLock.lock();
+        try {
+            return pointMetrics.recordTable("point_history", "select_all_by_user_id", () -> pointHistoryTable.selectAllByUserId(userId))
+                    .stream()
+                    .map(this::withOffset)
+                    .toList();
+        } finally {
+            tableLock.unlock();
+        }
+    }
+
+    private PointHistory withOffset(PointHistory pointHistory) {
+        if (idOffset == 0) {
+            return pointHistory;
+        }
+        return new PointHistory(pointHistory.id() + idOffset, pointHistory.userId(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+    }
+
+    // 한 사용자의 재시도: held 의 맨 앞이 실패한 이력이고, 뒤는 그 뒤에 도착한 같은 사용자의 이력이다.
+    private static final class Retry {
+        private final ArrayDeque<PointHistory> held = new ArrayDeque<>();
+        private int attempts;
+        private long retryAtNanos;
+
+        private void failedAgain(long backoffNanos, long maxBackoffNanos) {
+            attempts++;
+            retryAtNanos = System.nanoTime() + Math.min(backoffNanos << Math.min(attempts - 1, 30), maxBackoffNanos);
+        }
+    }
+
+    private void markWritten(int count) {
+        progressLock.lock();
+        try {
+            writtenCount += count;
+            progressed.signalAll();
+        } finally {
+            progressLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * primitive 배열 기반 사용자 포인트 저장소 (UserPointTable 대신 사용)
+ *  - 사용자마다 객체를 만들지 않고 LongPointMap 에 [id][point][updateMillis] 24바이트만 저장한다.
+ *    사용자 수가 늘어도 GC 가 추적할 객체 수는 stripe 배열 수로 고정된다.
+ *  - 조회는 락 없이, 저장은 stripe 별 락으로 처리하므로 서로 다른 사용자의 요청은 대부분 서로를 기다리지 않는다.
+ *  - UserPointTable 과 달리 테이블 지연(sleep)이 없다.
+ */
+public class PrimitiveUserPointStore implements UserPointStore {
+
+    private final LongPointMap userPoints;
+
+    public PrimitiveUserPointStore(int stripes, int initialCapacity) {
+        this.userPoints = new LongPointMap(stripes, initialCapacity);
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        UserPoint userPoint = userPoints.get(id);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        userPoints.put(id, userPoint.point(), userPoint.updateMillis());
+        return userPoint;
+    }
+
+    public long size() {
+        return userPoints.size();
+    }
+
+    // 저장에 사용하는 배열의 크기 (바이트)
+    public long allocatedBytes() {
+        return userPoints.allocatedBytes();
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * UserPointTable 을 그대로 사용하는 저장소 (락을 기다린 시간을 뺀 테이블 호출 시간을 point.table 로 기록)
+ *  - UserPointTable 은 스레드 안전하지 않은 HashMap 이므로 서로 다른 사용자의 호출도 한 번에 하나씩만 한다.
+ *  - 그래서 사용자가 달라도 테이블 지연만큼 서로를 기다린다. 여러 사용자를 동시에 처리하려면 point.store.type 을 primitive 로 둔다.
+ */
+public class TableUserPointStore implements UserPointStore {
+
+    private final UserPointTable userPointTable;
+
+    private final PointMetrics pointMetrics;
+
+    // UserPointTable 은 스레드 안전하지 않으므로 테이블 접근은 이 락으로 직렬화한다.
+    private final ReentrantLock tableLock = new ReentrantLock();
+
+    public TableUserPointStore(UserPointTable userPointTable, PointMetrics pointMetrics) {
+        this.userPointTable = userPointTable;
+        this.pointMetrics = pointMetrics;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return locked(() -> pointMetrics.recordTable("user_point", "select", () -> userPointTable.selectById(id)));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return locked(() -> pointMetrics.recordTable("user_point", "insert_or_update", () -> userPointTable.insertOrUpdate(id, amount)));
+    }
+
+    private UserPoint locked(Supplier<UserPoint> tableCall) {
+        tableLock.lock();
+        try {
+            return tableCall.get();
+        } finally {
+            tableLock.unlock();
+        }
+    }
+}
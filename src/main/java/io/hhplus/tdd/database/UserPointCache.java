@@ -0,0 +1,172 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자 포인트 캐시
+ *  - UserPointStore(UserPointTable 등) 앞단의 크기 제한 LRU 캐시이며, 조회는 read-through, 변경은 write-through 로 처리한다.
+ *  - 최대 크기를 넘으면 가장 오래 사용되지 않은 사용자부터 제거한다. (max-size 가 0 이면 캐시하지 않는다.)
+ *  - 캐시 적재(miss)와 변경이 같은 사용자에 대해 동시에 일어나면 오래된 값이 남을 수 있으므로,
+ *    호출하는 쪽에서 같은 사용자의 적재/변경을 직렬화해야 한다. (PointService 는 사용자 락 안에서 호출한다.)
+ *  - 버전 비교 저장소(VersionedUserPointStore)를 쓰면 캐시에는 버전이 더 큰 값만 덮어쓰므로 적재/변경이 겹쳐도 오래된 값이 남지 않는다.
+ */
+@Component
+public class UserPointCache {
+
+    private final UserPointStore userPointStore;
+
+    private final int maxSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LinkedHashMap<Long, UserPoint> entries; // lock 으로 보호, 접근 순서 유지
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserPointCache(UserPointStore userPointStore, @Value("${point.cache.max-size}") int maxSize) {
+        this.userPointStore = userPointStore;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                boolean evict = size() > UserPointCache.this.maxSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    // 캐시에 있는 경우에만 반환하고, 없으면 null 을 반환한다.
+    public UserPoint getIfPresent(long id) {
+        UserPoint cached = get(id);
+        if (cached != null) {
+            hits.increment();
+        }
+        return cached;
+    }
+
+    // 캐시에 없으면 저장소에서 읽어 캐시에 적재한다.
+    public UserPoint selectById(long id) {
+        UserPoint cached = get(id);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        UserPoint loaded = userPointStore.selectById(id);
+        return putIfAbsent(loaded);
+    }
+
+    // 사용자 락을 얻은 뒤 조회 전에 fencing token 을 저장소에 알린다. (캐시에서 조회하더라도 token 은 기록된다.)
+    public void fence(long id, long fencingToken) {
+        userPointStore.fence(id, fencingToken);
+    }
+
+    // 저장소에 기록한 뒤 캐시를 갱신한다.
+    public UserPoint insertOrUpdate(long id, long amount) {
+        return insertOrUpdate(id, amount, UserPointStore.NO_FENCING_TOKEN);
+    }
+
+    // 사용자 락의 fencing token 과 함께 저장소에 기록한 뒤 캐시를 갱신한다. (저장이 거절되면 캐시도 그대로 둔다.)
+    public UserPoint insertOrUpdate(long id, long amount, long fencingToken) {
+        UserPoint updated = userPointStore.insertOrUpdate(id, amount, fencingToken);
+        put(updated);
+        return updated;
+    }
+
+    // 캐시를 거치지 않고 저장소에서 다시 읽어 캐시를 갱신한다. (낙관적 저장이 충돌한 뒤 최신 값 조회)
+    public UserPoint reload(long id) {
+        misses.increment();
+        UserPoint loaded = userPointStore.selectById(id);
+        put(loaded);
+        return loaded;
+    }
+
+    // 캐시를 거치지 않고 저장한 값(버전 비교 저장 등)으로 캐시를 갱신한다. (버전이 더 큰 값만 덮어쓴다.)
+    public void refresh(UserPoint userPoint) {
+        put(userPoint);
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserPoint get(long id) {
+        lock.lock();
+        try {
+            return entries.get(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserPoint putIfAbsent(UserPoint userPoint) {
+        if (maxSize <= 0) {
+            return userPoint;
+        }
+        lock.lock();
+        try {
+            UserPoint existing = entries.get(userPoint.id());
+            if (existing != null && existing.version() >= userPoint.version()) {
+                return existing;
+            }
+            entries.put(userPoint.id(), userPoint);
+            return userPoint;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(UserPoint userPoint) {
+        if (maxSize <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            UserPoint existing = entries.get(userPoint.id());
+            if (existing == null || existing.version() <= userPoint.version()) {
+                entries.put(userPoint.id(), userPoint);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 캐시 통계
+     *  - hits: 캐시에서 응답한 횟수
+     *  - misses: 저장소에서 읽어온 횟수
+     *  - evictions: 크기 제한으로 제거된 횟수
+     */
+    public record CacheStats(
+            long hits,
+            long misses,
+            long evictions,
+            int size
+    ) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+}
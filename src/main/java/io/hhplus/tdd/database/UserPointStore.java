@@ -0,0 +1,33 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 사용자 포인트 저장소
+ *  - UserPointTable 과 같은 조회/저장 API 이며, UserPointCache 는 이 저장소를 통해 포인트를 읽고 쓴다.
+ *  - 구현은 UserPointStoreConfig 에서 설정에 따라 고른다.
+ *    TableUserPointStore: UserPointTable 그대로 사용 (테이블 호출은 락 하나로 직렬화)
+ *    PrimitiveUserPointStore: 사용자마다 객체를 만들지 않는 primitive 배열 저장소 (UserPointTable 대신 사용)
+ *    DurableUserPointStore: 위 저장소에 더해 스냅샷 + WAL 로 재시작 후에도 포인트를 복원
+ *    FencedUserPointStore: 사용자 락의 fencing token 이 이전보다 작은 저장을 거절
+ *    VersionedUserPointStore: 조회한 버전이 바뀌지 않았을 때에만 저장 (낙관적 동시성 제어, VersionedStore)
+ */
+public interface UserPointStore {
+
+    // fencing token 없이 저장한다. (사용자 락 밖의 저장, 검사하지 않는다.)
+    long NO_FENCING_TOKEN = 0L;
+
+    // 없는 사용자는 포인트 0 으로 조회된다.
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+
+    // 사용자 락의 fencing token 과 함께 저장한다. token 을 검사하지 않는 저장소는 그대로 저장한다.
+    default UserPoint insertOrUpdate(long id, long amount, long fencingToken) {
+        return insertOrUpdate(id, amount);
+    }
+
+    // 사용자 락을 얻은 뒤 포인트를 읽기 전에 fencing token 을 알린다. 이후 더 작은 token 의 저장은 거절된다. token 을 검사하지 않는 저장소는 아무것도 하지 않는다.
+    default void fence(long id, long fencingToken) {
+    }
+}
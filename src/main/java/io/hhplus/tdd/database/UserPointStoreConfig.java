@@ -0,0 +1,55 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 사용자 포인트 저장소 설정
+ *  - point.store.type 으로 포인트를 저장할 곳을 고른다.
+ *    table: UserPointTable (기본값)
+ *    primitive: PrimitiveUserPointStore (사용자마다 객체를 만들지 않는 primitive 배열 저장소)
+ *  - point.store.durable.enabled 가 true 면 그 앞에 스냅샷 + WAL 저장소(DurableUserPointStore)를 둔다.
+ *  - point.store.fencing.enabled 가 true 면 그 앞에 fencing token 검사(FencedUserPointStore)를 둔다.
+ *  - point.engine.type 이 optimistic 이면 가장 앞에 버전 비교 저장소(VersionedUserPointStore)를 둔다.
+ */
+@Configuration
+public class UserPointStoreConfig {
+
+    @Bean
+    public UserPointStore userPointStore(
+            UserPointTable userPointTable,
+            PointMetrics pointMetrics,
+            @Value("${point.store.type}") String type,
+            @Value("${point.store.primitive.stripes}") int stripes,
+            @Value("${point.store.primitive.initial-capacity}") int initialCapacity,
+            @Value("${point.store.durable.enabled}") boolean durable,
+            @Value("${point.store.durable.directory}") Path directory,
+            @Value("${point.store.durable.snapshot-interval}") Duration snapshotInterval,
+            @Value("${point.store.durable.wal-fsync-interval}") Duration walFsyncInterval,
+            @Value("${point.store.fencing.enabled}") boolean fencing,
+            @Value("${point.engine.type}") String engineType
+    ) {
+        UserPointStore store = switch (type) {
+            case "table" -> new TableUserPointStore(userPointTable, pointMetrics);
+            case "primitive" -> new PrimitiveUserPointStore(stripes, initialCapacity);
+            default -> throw new IllegalArgumentException("지원하지 않는 point.store.type 입니다: " + type);
+        };
+        if (durable) {
+            DurableUserPointStore durableStore = new DurableUserPointStore(store, directory, snapshotInterval, walFsyncInterval);
+            durableStore.start();
+            store = durableStore;
+        }
+        if (fencing) {
+            store = new FencedUserPointStore(store);
+        }
+        if ("optimistic".equals(engineType)) {
+            store = new VersionedUserPointStore(store);
+        }
+        return store;
+    }
+}
@@ -0,0 +1,256 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 사용자 포인트 WAL (write-ahead log)
+ *  - insertOrUpdate 로 저장된 포인트를 고정 길이(32바이트) 레코드로 세그먼트 파일에 이어 쓴다.
+ *    [id 8][point 8][updateMillis 8][CRC32C 4][예약 4]
+ *  - 변경량이 아닌 저장된 포인트 값을 남기므로 같은 레코드를 여러 번 반영해도 결과가 같다.
+ *  - rotate 로 새 세그먼트로 넘어가며, 스냅샷에 포함된 세그먼트는 deleteBefore 로 지운다.
+ *  - 디스크 반영은 fsync-interval 마다 모아서 한다. (0 이면 기록할 때마다 반영)
+ *  - DurableUserPointStore 에서만 사용한다.
+ */
+class UserPointWal {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPointWal.class);
+
+    static final int RECORD_SIZE = 32;
+    private static final int CHECKSUM_OFFSET = 24;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+
+    private final Duration fsyncInterval;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 이하 lock 으로 보호
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private FileChannel channel;
+    private long segmentNumber;
+    private boolean dirty;
+
+    private ScheduledExecutorService fsyncScheduler;
+
+    UserPointWal(Path directory, Duration fsyncInterval) {
+        this.directory = directory;
+        this.fsyncInterval = fsyncInterval;
+    }
+
+    /**
+     * fromSegment 이후의 세그먼트를 순서대로 읽어 기록된 포인트를 넘겨준 뒤, 새 세그먼트를 열어 이어 쓸 준비를 한다.
+     *  - 마지막 세그먼트의 쓰다 만 레코드는 잘라낸다. 그 외 세그먼트가 손상되었다면 IllegalStateException 을 던진다.
+     * @return 읽은 레코드 수
+     */
+    long replay(long fromSegment, Consumer<UserPoint> consumer) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments();
+        long count = 0;
+        long lastSegment = fromSegment - 1;
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 32 * 1024);
+        for (int i = 0; i < segments.size(); i++) {
+            long number = segmentNumberOf(segments.get(i));
+            lastSegment = Math.max(lastSegment, number);
+            if (number < fromSegment) {
+                continue;
+            }
+            boolean last = i == segments.size() - 1;
+            try (FileChannel segment = FileChannel.open(segments.get(i), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long valid = 0;
+                boolean torn = false;
+                buffer.clear();
+                while (!torn && segment.read(buffer) > 0) {
+                    buffer.flip();
+                    while (buffer.remaining() >= RECORD_SIZE) {
+                        if (!isValidRecord(buffer, buffer.position())) {
+                            torn = true;
+                            break;
+                        }
+                        consumer.accept(readRecord(buffer, buffer.position()));
+                        buffer.position(buffer.position() + RECORD_SIZE);
+                        valid += RECORD_SIZE;
+                        count++;
+                    }
+                    buffer.compact();
+                }
+                if (valid < segment.size()) {
+                    if (!last) {
+                        throw new IllegalStateException("사용자 포인트 WAL 이 손상되었습니다. " + segments.get(i) + " (" + valid + "바이트 위치)");
+                    }
+                    log.warn("사용자 포인트 WAL 의 쓰다 만 레코드를 잘라냅니다. {} ({}바이트 위치)", segments.get(i), valid);
+                    segment.truncate(valid);
+                }
+            }
+        }
+        lock.lock();
+        try {
+            openSegment(lastSegment + 1);
+        } finally {
+            lock.unlock();
+        }
+        startFsyncScheduler();
+        return count;
+    }
+
+    void append(UserPoint userPoint) {
+        lock.lock();
+        try {
+            record.clear();
+            record.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+            record.putInt(checksum(record, 0)).putInt(0);
+            record.flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            if (fsyncInterval.isZero()) {
+                channel.force(false);
+            } else {
+                dirty = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("사용자 포인트 WAL 기록에 실패했습니다.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 디스크에 반영하고 닫은 뒤 다음 세그먼트로 넘어간다. 이후의 기록은 새 세그먼트에 남는다.
+     * @return 새 세그먼트 번호
+     */
+    long rotate() throws IOException {
+        lock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+            dirty = false;
+            openSegment(segmentNumber + 1);
+            return segmentNumber;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // segment 보다 앞선 세그먼트를 지운다.
+    void deleteBefore(long segment) throws IOException {
+        for (Path path : listSegments()) {
+            if (segmentNumberOf(path) < segment) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    void force() {
+        FileChannel target;
+        lock.lock();
+        try {
+            if (!dirty) {
+                return;
+            }
+            target = channel;
+            dirty = false;
+        } finally {
+            lock.unlock();
+        }
+        // 반영하는 동안에도 append 가 막히지 않도록 락 밖에서 반영한다.
+        try {
+            target.force(false);
+        } catch (ClosedChannelException e) {
+            // rotate/close 가 닫기 전에 이미 반영했다.
+        } catch (IOException e) {
+            throw new UncheckedIOException("사용자 포인트 WAL 반영에 실패했습니다.", e);
+        }
+    }
+
+    void close() throws IOException {
+        if (fsyncScheduler != null) {
+            fsyncScheduler.shutdownNow();
+        }
+        lock.lock();
+        try {
+            if (channel != null && channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        channel = FileChannel.open(directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentNumber = number;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String fileName = path.getFileName().toString();
+                        return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private long segmentNumberOf(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static boolean isValidRecord(ByteBuffer buffer, int position) {
+        return buffer.getInt(position + CHECKSUM_OFFSET) == checksum(buffer, position);
+    }
+
+    private static UserPoint readRecord(ByteBuffer buffer, int position) {
+        return new UserPoint(buffer.getLong(position), buffer.getLong(position + 8), buffer.getLong(position + 16));
+    }
+
+    private static int checksum(ByteBuffer buffer, int position) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private void startFsyncScheduler() {
+        if (fsyncInterval.isZero()) {
+            return;
+        }
+        fsyncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-point-wal-fsync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = fsyncInterval.toMillis();
+        fsyncScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                force();
+            } catch (RuntimeException e) {
+                log.error("사용자 포인트 WAL 반영에 실패했습니다.", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.List;
+
+/**
+ * 버전 비교 저장을 지원하는 사용자 포인트 저장소
+ *  - 조회한 UserPoint 의 version 을 그대로 넘겨, 그 사이 다른 저장이 없었을 때에만 저장한다. (낙관적 동시성 제어)
+ *  - 낙관적 실행기(OptimisticPointExecutor)는 이 타입을 주입받으므로, 버전 비교를 지원하지 않는 저장소로는 만들 수 없다.
+ *  - 구현: VersionedUserPointStore
+ */
+public interface VersionedStore extends UserPointStore {
+
+    // 조회한 UserPoint 의 version 이 그대로일 때에만 저장하고, 다른 저장이 먼저 일어났으면 null 을 반환한다.
+    UserPoint compareAndSet(long id, long expectedVersion, long amount);
+
+    // 조회한 두 UserPoint 의 version 이 모두 그대로일 때에만 둘 다 저장하고, 하나라도 바뀌었으면 아무것도 저장하지 않고 null 을 반환한다. (이체)
+    // to 저장이 실패하면 from 을 조회한 포인트로 되돌린 뒤 예외를 던진다. 결과는 [from, to] 순서이다.
+    List<UserPoint> compareAndSetBoth(UserPoint from, long fromAmount, UserPoint to, long toAmount);
+}
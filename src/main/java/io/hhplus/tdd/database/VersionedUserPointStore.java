@@ -0,0 +1,126 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 버전 비교 저장소 (낙관적 동시성 제어)
+ *  - 사용자마다 버전(AtomicLong)을 두고, 조회한 UserPoint 에 버전을 실어 반환한다.
+ *  - compareAndSet 은 조회 이후 버전이 바뀌지 않았을 때에만 저장하고, 바뀌었으면 기다리지 않고 null 을 반환한다.
+ *    버전은 짝수면 저장 중이 아니고, 홀수면 저장 중이다. 저장할 때 CAS 로 홀수로 바꿔 저장할 권리를 얻고,
+ *    테이블 저장이 끝나면 다음 짝수로 올린다. 같은 사용자에 대한 다른 저장은 CAS 에 실패하므로 테이블 지연 동안 락을 잡지 않는다.
+ *  - 조회도 기다리지 않는다. 저장 중에 조회한 값은 홀수 버전으로 반환되어 그 값으로 한 compareAndSet 은 항상 실패한다.
+ *  - compareAndSetBoth 는 두 사용자의 버전을 userId 가 작은 쪽부터 홀수로 바꾸고, 두 번째에 실패하면 첫 번째를 되돌린 뒤 null 을 반환한다.
+ *    둘 다 얻으면 두 사용자를 저장하고 함께 다음 짝수로 올린다. 기다리지 않으므로 교착은 없고,
+ *    같은 순서로 얻으므로 마주 보는 이체끼리 하나씩 나눠 잡고 함께 실패하는 일이 줄어든다.
+ *  - 버전 없는 insertOrUpdate 는 진행 중인 저장이 끝나기를 짧게 쉬며 기다린 뒤 저장한다. (낙관적 처리 밖의 저장용)
+ *  - UserPointStore 를 감싸는 가장 바깥 저장소로 두어야 한다. (모든 저장이 버전을 거쳐야 한다.)
+ */
+public class VersionedUserPointStore implements VersionedStore {
+
+    private static final long RETRY_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final UserPointStore delegate;
+
+    private final ConcurrentHashMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public VersionedUserPointStore(UserPointStore delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        AtomicLong version = versionOf(id);
+        long before = version.get();
+        UserPoint userPoint = delegate.selectById(id);
+        long after = version.get();
+        // 조회하는 동안 저장이 시작되거나 끝났다면 어느 버전의 값인지 알 수 없으므로 홀수 버전으로 반환한다.
+        return userPoint.withVersion(before == after ? after : after | 1L);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        AtomicLong version = versionOf(id);
+        while (true) {
+            long current = version.get();
+            if ((current & 1L) == 0 && version.compareAndSet(current, current + 1)) {
+                return write(version, current, id, amount);
+            }
+            LockSupport.parkNanos(RETRY_PARK_NANOS);
+        }
+    }
+
+    @Override
+    public UserPoint compareAndSet(long id, long expectedVersion, long amount) {
+        if ((expectedVersion & 1L) != 0) {
+            return null;
+        }
+        AtomicLong version = versionOf(id);
+        if (!version.compareAndSet(expectedVersion, expectedVersion + 1)) {
+            return null;
+        }
+        return write(version, expectedVersion, id, amount);
+    }
+
+    @Override
+    public List<UserPoint> compareAndSetBoth(UserPoint from, long fromAmount, UserPoint to, long toAmount) {
+        if (from.id() == to.id()) {
+            throw new IllegalArgumentException("같은 사용자의 포인트를 함께 저장할 수 없습니다.");
+        }
+        if (((from.version() | to.version()) & 1L) != 0) {
+            return null;
+        }
+        AtomicLong fromVersion = versionOf(from.id());
+        AtomicLong toVersion = versionOf(to.id());
+        boolean acquired = from.id() < to.id()
+                ? acquireBoth(fromVersion, from.version(), toVersion, to.version())
+                : acquireBoth(toVersion, to.version(), fromVersion, from.version());
+        if (!acquired) {
+            return null;
+        }
+        try {
+            UserPoint fromUpdated = delegate.insertOrUpdate(from.id(), fromAmount);
+            UserPoint toUpdated;
+            try {
+                toUpdated = delegate.insertOrUpdate(to.id(), toAmount);
+            } catch (RuntimeException e) {
+                delegate.insertOrUpdate(from.id(), from.point());
+                throw e;
+            }
+            return List.of(fromUpdated.withVersion(from.version() + 2), toUpdated.withVersion(to.version() + 2));
+        } finally {
+            fromVersion.set(from.version() + 2);
+            toVersion.set(to.version() + 2);
+        }
+    }
+
+    // first 를 먼저 홀수로 바꾸고, second 에 실패하면 first 를 원래 버전으로 되돌린다. (저장 전이므로 값은 그대로다.)
+    private static boolean acquireBoth(AtomicLong first, long firstExpected, AtomicLong second, long secondExpected) {
+        if (!first.compareAndSet(firstExpected, firstExpected + 1)) {
+            return false;
+        }
+        if (!second.compareAndSet(secondExpected, secondExpected + 1)) {
+            first.set(firstExpected);
+            return false;
+        }
+        return true;
+    }
+
+    // 저장에 실패해도 버전을 올려, 저장 전에 읽은 값으로는 다시 저장하지 못하게 한다.
+    private UserPoint write(AtomicLong version, long expectedVersion, long id, long amount) {
+        try {
+            return delegate.insertOrUpdate(id, amount).withVersion(expectedVersion + 2);
+        } finally {
+            version.set(expectedVersion + 2);
+        }
+    }
+
+    private AtomicLong versionOf(long id) {
+        return versions.computeIfAbsent(id, key -> new AtomicLong());
+    }
+}
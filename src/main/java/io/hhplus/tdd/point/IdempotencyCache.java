@@ -0,0 +1,153 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 요청 멱등성 캐시 (Idempotency-Key)
+ *  - 사용자와 Idempotency-Key 별로 처음 처리한 요청의 결과(UserPoint)를 ttl 동안 기억하고,
+ *    같은 키로 다시 온 요청에는 처리하지 않고 기억한 결과를 그대로 반환한다. (테이블을 거치지 않는다.)
+ *  - 처음 요청이 처리 중이면 다시 온 요청은 실행하지 않고 그 결과를 기다린다.
+ *  - 처음 요청이 실패하면 (Error 포함) 결과를 기억하지 않는다. 기다리던 요청은 같은 예외로 실패하고, 이후 같은 키로 다시 시도할 수 있다.
+ *  - 같은 키로 다른 요청(종류, 금액)을 보내면 IllegalArgumentException 으로 거절한다.
+ *  - 최대 maxSize 개를 기억하며, 넘으면 가장 먼저 들어온 키부터 제거한다. (max-size 가 0 이면 멱등성을 보장하지 않는다.)
+ *    처리 중인 키는 제거하지 않으므로, 처리 중인 키가 많으면 잠시 maxSize 를 넘을 수 있다.
+ *  - 기억 중인 키 수를 point.idempotency.size 로 노출한다. (생성이 끝난 뒤 registerMetrics 에서 등록한다.)
+ */
+@Component
+public class IdempotencyCache {
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final PointMetrics pointMetrics;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(); // lock 으로 보호, 들어온 순서(= 만료 순서) 유지
+
+    public IdempotencyCache(
+            @Value("${point.idempotency.max-size}") int maxSize,
+            @Value("${point.idempotency.ttl}") Duration ttl,
+            PointMetrics pointMetrics
+    ) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.pointMetrics = pointMetrics;
+    }
+
+    // 생성이 끝난 뒤에 this 를 gauge 에 넘긴다. (생성 중인 객체가 다른 스레드에 보이지 않도록)
+    @PostConstruct
+    public void registerMetrics() {
+        pointMetrics.gauge("point.idempotency.size", "멱등성 캐시가 기억 중인 Idempotency-Key 수", this, IdempotencyCache::size);
+    }
+
+    /**
+     * key 로 처음 온 command 면 action 을 실행하고 결과를 기억한다. 이미 처리했거나 처리 중인 key 면 그 결과를 반환한다.
+     *  - key 가 null 이면 멱등성 없이 action 을 실행한다.
+     */
+    public UserPoint execute(String key, PointCommand command, Supplier<UserPoint> action) {
+        if (key == null || maxSize <= 0) {
+            return action.get();
+        }
+        String scopedKey = command.userId() + ":" + key;
+        Entry entry;
+        boolean first = false;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            evictExpired(now);
+            entry = entries.get(scopedKey);
+            if (entry == null) {
+                entry = new Entry(command, new CompletableFuture<>(), now + ttlNanos);
+                entries.put(scopedKey, entry);
+                evictOverflow();
+                first = true;
+            } else if (!entry.command.equals(command)) {
+                throw new IllegalArgumentException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+            }
+        } finally {
+            lock.unlock();
+        }
+        return first ? executeFirst(scopedKey, entry, action) : await(entry);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserPoint executeFirst(String scopedKey, Entry entry, Supplier<UserPoint> action) {
+        try {
+            UserPoint result = action.get();
+            entry.result.complete(result);
+            return result;
+        } catch (Throwable e) { // Error 로 끝나도 키를 남기지 않아야 기다리던 요청이 영원히 멈추지 않는다.
+            lock.lock();
+            try {
+                entries.remove(scopedKey, entry);
+            } finally {
+                lock.unlock();
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private UserPoint await(Entry entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 들어온 순서가 곧 만료 순서이므로 앞에서부터 만료된 키를 제거한다. (처리 중인 키는 끝날 때까지 남긴다.)
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (eldest.expiresAt - now > 0 || !eldest.result.isDone()) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    // 먼저 들어온 키부터 제거하되 처리 중인 키는 건너뛴다. (모두 처리 중이면 잠시 maxSize 를 넘는다.)
+    private void evictOverflow() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            if (iterator.next().result.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record Entry(
+            PointCommand command,
+            CompletableFuture<UserPoint> result,
+            long expiresAt // System.nanoTime 기준
+    ) {
+    }
+}
@@ -0,0 +1,51 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JVM 안의 사용자 락
+ *  - userId 마다 공정(fair) ReentrantLock 을 발급해 같은 사용자의 요청만 도착 순서대로 직렬화한다.
+ *  - 락을 보유하거나 기다리는 스레드가 없어지면 락 테이블에서 제거한다.
+ *  - 보유한 스레드가 끝날 때까지 유지되므로 lease 만료는 없다. (서버 한 대에서만 사용)
+ */
+public class LocalUserLockProvider implements UserLockProvider {
+
+    private final ConcurrentHashMap<Long, UserLock> locks = new ConcurrentHashMap<>();
+
+    private final AtomicLong fencingTokens = new AtomicLong();
+
+    @Override
+    public Lease acquire(long userId) {
+        UserLock userLock = locks.compute(userId, (id, lock) -> {
+            UserLock target = (lock == null) ? new UserLock() : lock;
+            target.references++;
+            return target;
+        });
+        userLock.lock.lock();
+        long fencingToken = fencingTokens.incrementAndGet();
+        return new Lease() {
+            @Override
+            public long fencingToken() {
+                return fencingToken;
+            }
+
+            @Override
+            public void close() {
+                userLock.lock.unlock();
+                locks.computeIfPresent(userId, (id, lock) -> --lock.references == 0 ? null : lock);
+            }
+        };
+    }
+
+    // 현재 락 테이블에 남아있는 사용자 수
+    int size() {
+        return locks.size();
+    }
+
+    private static final class UserLock {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int references; // compute 블록 안에서만 변경된다.
+    }
+}
@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 크기가 제한된 다중 생산자 / 단일 소비자 대기열 (락 없음)
+ *  - 칸마다 순번(sequence)을 두어, 생산자는 tail 을 CAS 로 한 칸씩 차지하고 소비자는 순번으로 채워진 칸인지 확인한다.
+ *    (Dmitry Vyukov 의 bounded queue 를 소비자가 하나인 경우로 줄인 형태)
+ *  - 가득 차면 offer 가 false 를 반환한다. 기다릴지는 호출하는 쪽에서 정한다. (backpressure)
+ *  - poll 은 하나의 소비자 스레드에서만 호출해야 한다.
+ */
+final class MpscMailbox<E> {
+
+    private final int mask;
+
+    private final Object[] items;
+
+    // 칸 i 의 순번: 비어 있으면 다음에 그 칸을 차지할 위치, 채워졌으면 그 위치 + 1
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile long head; // 소비자 스레드만 변경한다. (size 는 다른 스레드에서 읽는다.)
+
+    MpscMailbox(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("대기열 크기는 2의 거듭제곱이어야 합니다.");
+        }
+        this.mask = capacity - 1;
+        this.items = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E item) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items[index] = item;
+                    sequences.set(index, position + 1); // 소비자에게 공개
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // 한 바퀴 앞의 항목을 아직 소비하지 않았다.
+            }
+            // 다른 생산자가 먼저 차지했다. 다시 시도한다.
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    E poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E item = (E) items[index];
+        items[index] = null;
+        sequences.set(index, head + mask + 1); // 다음 바퀴의 생산자에게 공개
+        head++;
+        return item;
+    }
+
+    // 대략적인 크기 (지표용)
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
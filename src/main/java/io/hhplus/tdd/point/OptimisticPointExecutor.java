@@ -0,0 +1,104 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.VersionedStore;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 충전/사용 요청 실행기
+ *  - 사용자 락 없이 조회 → 규칙 적용(chargePoint/usePoint) → 버전 비교 저장(compareAndSet) 순서로 처리한다.
+ *    (PointCommandProcessor.processIfUnchanged, 저장소는 VersionedStore 타입으로 주입받는다.)
+ *  - 그 사이 같은 사용자의 다른 저장이 먼저 일어나 충돌하면, 저장소에서 다시 조회해 maxAttempts 번까지 재시도한다.
+ *    재시도 전에는 backoff 부터 두 배씩 maxBackoff 까지 늘린 시간 안에서 무작위로 쉬어 충돌한 요청끼리 다시 겹치지 않게 한다.
+ *  - 조회와 충돌하지 않는 저장은 기다리지 않는다. 테이블 지연 동안 잡고 있는 락이 없다.
+ *  - 재시도를 모두 실패하면 IllegalStateException 을 던진다. (규칙 위반이 아니므로 다시 요청하면 처리될 수 있다.)
+ *  - 이체는 두 사용자를 조회해 규칙을 적용한 뒤, 두 버전이 모두 그대로일 때에만 함께 저장한다. (PointCommandProcessor.transferIfUnchanged)
+ *    둘 중 하나라도 충돌하면 아무것도 저장하지 않고 충전/사용과 같은 방식으로 두 사용자를 다시 조회해 재시도한다.
+ *  - 충돌 수(point.optimistic.conflicts), 요청당 시도 횟수(point.optimistic.attempts), 재시도 소진 수(point.optimistic.exhausted)를 노출한다.
+ */
+public class OptimisticPointExecutor implements PointCommandExecutor {
+
+    private final UserPointCache userPointCache;
+
+    private final VersionedStore versionedStore; // userPointCache 가 읽고 쓰는 저장소와 같아야 한다.
+
+    private final PointCommandProcessor pointCommandProcessor;
+
+    private final PointMetrics pointMetrics;
+
+    private final int maxAttempts;
+
+    private final long backoffNanos;
+
+    private final long maxBackoffNanos;
+
+    public OptimisticPointExecutor(UserPointCache userPointCache, VersionedStore versionedStore, PointCommandProcessor pointCommandProcessor, PointMetrics pointMetrics,
+                                   int maxAttempts, Duration backoff, Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("최대 시도 횟수는 1 이상이어야 합니다.");
+        }
+        this.userPointCache = userPointCache;
+        this.versionedStore = versionedStore;
+        this.pointCommandProcessor = pointCommandProcessor;
+        this.pointMetrics = pointMetrics;
+        this.maxAttempts = maxAttempts;
+        this.backoffNanos = backoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    @Override
+    public PointCommandResult execute(PointCommand command) {
+        return executeAll(command.userId(), List.of(command)).get(0);
+    }
+
+    @Override
+    public List<PointCommandResult> executeAll(long userId, List<PointCommand> commands) {
+        return retry(attempt -> pointCommandProcessor.processIfUnchanged(versionedStore, read(userId, attempt), commands));
+    }
+
+    // 조회와 적재는 버전이 큰 값만 캐시에 남으므로 직렬화하지 않고 바로 실행한다.
+    @Override
+    public <T> T executeForUser(long userId, Supplier<T> action) {
+        return action.get();
+    }
+
+    @Override
+    public List<PointCommandResult> transfer(long fromUserId, long toUserId, long amount) {
+        return retry(attempt -> pointCommandProcessor.transferIfUnchanged(versionedStore, read(fromUserId, attempt), read(toUserId, attempt), amount));
+    }
+
+    // 충돌하면(null) 쉬었다가 maxAttempts 번까지 다시 시도한다.
+    private List<PointCommandResult> retry(IntFunction<List<PointCommandResult>> action) {
+        for (int attempt = 1; ; attempt++) {
+            List<PointCommandResult> results = action.apply(attempt);
+            if (results != null) {
+                pointMetrics.recordOptimisticAttempts(attempt);
+                return results;
+            }
+            pointMetrics.countOptimisticConflict();
+            if (attempt == maxAttempts) {
+                pointMetrics.countOptimisticExhausted();
+                throw new IllegalStateException("포인트 변경이 계속 충돌해 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+            }
+            backoff(attempt);
+        }
+    }
+
+    // 첫 시도는 캐시에서 읽고, 충돌한 뒤에는 캐시를 거치지 않고 저장소에서 다시 읽는다.
+    private UserPoint read(long userId, int attempt) {
+        return attempt == 1 ? userPointCache.selectById(userId) : userPointCache.reload(userId);
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, backoffNanos << Math.min(attempt - 1, 30));
+        if (ceiling > 0) {
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(ceiling) + 1);
+        }
+    }
+}
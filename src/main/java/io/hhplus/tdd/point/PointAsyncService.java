@@ -0,0 +1,96 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 비동기 서비스
+ *  - PointService 의 조회/충전/사용을 pointAsyncExecutor 에서 실행하고 CompletableFuture 로 결과를 돌려준다.
+ *    호출한 스레드(서블릿 스레드)는 테이블 지연을 기다리지 않고 바로 반환된다.
+ *  - 같은 사용자의 요청은 호출 순서대로 하나씩 실행한다. 앞선 요청이 끝나야 다음 요청을 실행기에 넘기므로,
+ *    순서를 기다리는 요청은 스레드를 점유하지 않는다. 앞선 요청의 성공/실패와는 관계없이 다음 요청을 실행한다.
+ *  - 실행기가 요청을 거절하면(대기열 초과) RejectedExecutionException 으로 완료된다. (ApiControllerAdvice 가 503 과 Retry-After 로 응답)
+ *  - 검증 실패 등 PointService 의 예외는 그대로 CompletableFuture 의 예외로 전달된다.
+ */
+@Service
+public class PointAsyncService {
+
+    private final PointService pointService;
+
+    private final ExecutorService pointAsyncExecutor;
+
+    // userId → 해당 사용자의 마지막 요청 (요청이 끝나고 뒤에 이어진 요청이 없으면 제거한다.)
+    private final ConcurrentHashMap<Long, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+
+    public PointAsyncService(PointService pointService, @Qualifier("pointAsyncExecutor") ExecutorService pointAsyncExecutor) {
+        this.pointService = pointService;
+        this.pointAsyncExecutor = pointAsyncExecutor;
+    }
+
+    public CompletableFuture<UserPoint> getUserPointById(Long userId) {
+        return submit(userId, () -> pointService.getUserPointById(userId));
+    }
+
+    public CompletableFuture<List<PointHistory>> getUserHistoryById(Long userId) {
+        return submit(userId, () -> pointService.getUserHistoryById(userId));
+    }
+
+    public CompletableFuture<List<PointHistory>> getUserHistoryByTime(Long userId, long from, long to) {
+        return submit(userId, () -> pointService.getUserHistoryByTime(userId, from, to));
+    }
+
+    public CompletableFuture<UserPoint> chargeUserPoint(Long userId, Long amount) {
+        return chargeUserPoint(userId, amount, null);
+    }
+
+    public CompletableFuture<UserPoint> chargeUserPoint(Long userId, Long amount, String idempotencyKey) {
+        return submit(userId, () -> pointService.chargeUserPoint(userId, amount, idempotencyKey));
+    }
+
+    public CompletableFuture<UserPoint> usePoint(Long userId, Long amount) {
+        return usePoint(userId, amount, null);
+    }
+
+    public CompletableFuture<UserPoint> usePoint(Long userId, Long amount, String idempotencyKey) {
+        return submit(userId, () -> pointService.usePoint(userId, amount, idempotencyKey));
+    }
+
+    // 현재 처리 중이거나 순서를 기다리는 요청이 있는 사용자 수
+    int size() {
+        return tails.size();
+    }
+
+    private <T> CompletableFuture<T> submit(long userId, Supplier<T> action) {
+        CompletableFuture<T> next = new CompletableFuture<>();
+        CompletableFuture<?> previous = tails.put(userId, next);
+        next.whenComplete((result, e) -> tails.remove(userId, next));
+        if (previous == null) {
+            execute(next, action);
+        } else {
+            previous.whenComplete((result, e) -> execute(next, action));
+        }
+        return next;
+    }
+
+    // 앞선 요청을 완료시킨 스레드에서 호출될 수 있으므로, 거절되더라도 예외를 던지지 않고 next 를 실패로 완료한다.
+    private <T> void execute(CompletableFuture<T> next, Supplier<T> action) {
+        try {
+            pointAsyncExecutor.execute(() -> {
+                try {
+                    next.complete(action.get());
+                } catch (Throwable e) {
+                    next.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            next.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 일괄 처리 요청 한 건 (/point/batch)
+ *  - 요청 본문에서 빠진 항목은 0 이 아니라 null 로 들어오므로, 빠진 항목과 잘못된 값을 구분해 거절할 수 있다.
+ *  - 검증을 통과하면 toCommand 로 충전/사용 요청(PointCommand)으로 바꾼다.
+ */
+public record PointBatchCommand(
+        Long userId,
+        TransactionType type,
+        Long amount
+) {
+
+    public PointCommand toCommand() {
+        return new PointCommand(userId, type, amount);
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+@Service
+public class PointBatchService {
+
+    private final PointCommandExecutor pointCommandExecutor; // 사용자별 충전/사용 반영 (요청 직렬화)
+
+    private final ExecutorService pointBatchExecutor; // 사용자별 병렬 처리
+
+    private final PointMetrics pointMetrics; // 서비스 호출 시간 계측
+
+    private final int maxSize;
+
+    public PointBatchService(
+            PointCommandExecutor pointCommandExecutor,
+            @Qualifier("pointBatchExecutor") ExecutorService pointBatchExecutor,
+            PointMetrics pointMetrics,
+            @Value("${point.batch.max-size}") int maxSize
+    ) {
+        this.pointCommandExecutor = pointCommandExecutor;
+        this.pointBatchExecutor = pointBatchExecutor;
+        this.pointMetrics = pointMetrics;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 포인트 일괄 충전/사용 서비스
+     *  - 요청을 사용자별로 묶어, 사용자마다 요청 순서대로 충전/사용 규칙을 검증하고 조회/저장은 한 번씩만 한다.
+     *  - 서로 다른 사용자는 병렬로 처리하며, 결과는 요청과 같은 순서로 반환한다.
+     *  - 규칙에 어긋난 요청만 실패로 응답하고 나머지 요청은 반영된다.
+     *  - 금액은 단건 충전/사용과 같은 규칙(UserPoint)으로 검증하므로 0 은 허용하고 음수는 같은 메시지로 거절한다.
+     * Exception 처리 항목
+     *  1. 한 번에 처리할 수 있는 요청 수를 초과한 경우
+     *  2. userId가 없거나 0 이하인 경우 (해당 요청만 실패 처리)
+     *  3. type이나 amount가 없는 경우 (해당 요청만 실패 처리)
+     */
+    public List<PointCommandResult> applyAll(List<PointBatchCommand> requests) {
+        return pointMetrics.recordService("batch", () -> apply(requests));
+    }
+
+    private List<PointCommandResult> apply(List<PointBatchCommand> requests) {
+        if (requests.size() > maxSize) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 요청은 " + maxSize + "건 입니다.");
+        }
+        PointCommandResult[] results = new PointCommandResult[requests.size()];
+        PointCommand[] commands = new PointCommand[requests.size()];
+
+        // 1. 사용자별로 요청 묶기 (요청 순서 유지)
+        Map<Long, List<Integer>> indicesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            PointBatchCommand request = requests.get(i);
+            String invalidReason = invalidReason(request);
+            if (invalidReason != null) {
+                results[i] = reject(request, invalidReason);
+                continue;
+            }
+            commands[i] = request.toCommand();
+            indicesByUser.computeIfAbsent(request.userId(), userId -> new ArrayList<>()).add(i);
+        }
+
+        // 2. 사용자별 병렬 처리
+        List<CompletableFuture<Void>> futures = new ArrayList<>(indicesByUser.size());
+        indicesByUser.forEach((userId, indices) -> futures.add(CompletableFuture.runAsync(() -> {
+            List<PointCommand> userCommands = indices.stream().map(index -> commands[index]).toList();
+            List<PointCommandResult> userResults = pointCommandExecutor.executeAll(userId, userCommands);
+            for (int i = 0; i < indices.size(); i++) {
+                results[indices.get(i)] = userResults.get(i);
+            }
+        }, pointBatchExecutor)));
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return Arrays.asList(results);
+    }
+
+    // 빠진 항목과 사용자가 될 수 없는 userId 만 여기서 거른다. 금액 규칙은 사용자 처리에서 UserPoint 가 검증한다.
+    private static String invalidReason(PointBatchCommand request) {
+        if (request.userId() == null) {
+            return "userId는 필수입니다.";
+        }
+        if (request.userId() < 0) {
+            return "userId는 음수일 수 없습니다.";
+        }
+        if (request.userId() == 0) {
+            return "userId는 0보다 커야 합니다.";
+        }
+        if (request.type() == null) {
+            return "type은 CHARGE 또는 USE 여야 합니다.";
+        }
+        if (request.amount() == null) {
+            return "amount는 필수입니다.";
+        }
+        return null;
+    }
+
+    // 빠진 항목은 응답에 0 으로 채운다.
+    private static PointCommandResult reject(PointBatchCommand request, String reason) {
+        long userId = request.userId() == null ? 0 : request.userId();
+        long amount = request.amount() == null ? 0 : request.amount();
+        return new PointCommandResult(userId, request.type(), amount, false, 0, reason);
+    }
+}
@@ -0,0 +1,185 @@
+package io.hhplus.tdd.point;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 포인트 응답 바이너리 형식 (application/vnd.hhplus.point)
+ *  - 모든 메시지는 형식 버전 1 바이트(VERSION)로 시작한다.
+ *  - 정수는 7비트씩 나누어 쓰는 varint 이고, 이전 값과의 차이(delta)는 음수도 짧게 쓰도록 zigzag 로 바꾼 뒤 varint 로 쓴다.
+ *    UserPoint:        id, point, updateMillis, version
+ *    List<PointHistory>: 건수, 그리고 이력마다 id 차이, userId 차이, amount, type(ordinal 1 바이트), updateMillis 차이 (첫 이력은 0 과의 차이)
+ *    PointHistoryPage: 이력 목록, nextCursor + 1 (다음 페이지가 없으면 0)
+ *  - 한 사용자의 이력 목록은 id 와 시각이 조금씩 늘어나므로 이력 하나가 대략 8 바이트가 된다. (JSON 은 약 80 바이트)
+ *  - 쓰기는 메시지 크기에 맞춘(최대 8KB) 버퍼 하나로 바로 출력 스트림에 쓰고, 읽기는 클라이언트/테스트를 위한 참조 구현이다.
+ */
+public final class PointBinaryCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int MAX_VARINT_SIZE = 10;
+
+    private static final int MAX_HISTORY_SIZE = 4 * MAX_VARINT_SIZE + 1;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointBinaryCodec() {
+    }
+
+    public static void writeUserPoint(UserPoint userPoint, OutputStream outputStream) throws IOException {
+        Output output = new Output(outputStream, 1 + 4 * MAX_VARINT_SIZE);
+        output.writeByte(VERSION);
+        output.writeVarint(userPoint.id());
+        output.writeVarint(userPoint.point());
+        output.writeVarint(userPoint.updateMillis());
+        output.writeVarint(userPoint.version());
+        output.flush();
+    }
+
+    public static void writeHistories(List<PointHistory> histories, OutputStream outputStream) throws IOException {
+        Output output = new Output(outputStream, 1 + MAX_VARINT_SIZE + (long) histories.size() * MAX_HISTORY_SIZE);
+        output.writeByte(VERSION);
+        writeHistories(histories, output);
+        output.flush();
+    }
+
+    public static void writeHistoryPage(PointHistoryPage page, OutputStream outputStream) throws IOException {
+        Output output = new Output(outputStream, 1 + 2 * MAX_VARINT_SIZE + (long) page.items().size() * MAX_HISTORY_SIZE);
+        output.writeByte(VERSION);
+        writeHistories(page.items(), output);
+        output.writeVarint(page.nextCursor() == null ? 0 : page.nextCursor() + 1);
+        output.flush();
+    }
+
+    public static UserPoint readUserPoint(InputStream inputStream) throws IOException {
+        readVersion(inputStream);
+        return new UserPoint(readVarint(inputStream), readVarint(inputStream), readVarint(inputStream), readVarint(inputStream));
+    }
+
+    public static List<PointHistory> readHistories(InputStream inputStream) throws IOException {
+        readVersion(inputStream);
+        return readHistoryList(inputStream);
+    }
+
+    public static PointHistoryPage readHistoryPage(InputStream inputStream) throws IOException {
+        readVersion(inputStream);
+        List<PointHistory> items = readHistoryList(inputStream);
+        long nextCursor = readVarint(inputStream);
+        return new PointHistoryPage(items, nextCursor == 0 ? null : nextCursor - 1);
+    }
+
+    private static void writeHistories(List<PointHistory> histories, Output output) throws IOException {
+        output.writeVarint(histories.size());
+        long id = 0;
+        long userId = 0;
+        long updateMillis = 0;
+        for (PointHistory history : histories) {
+            output.writeVarint(zigzag(history.id() - id));
+            output.writeVarint(zigzag(history.userId() - userId));
+            output.writeVarint(history.amount());
+            output.writeByte(history.type().ordinal());
+            output.writeVarint(zigzag(history.updateMillis() - updateMillis));
+            id = history.id();
+            userId = history.userId();
+            updateMillis = history.updateMillis();
+        }
+    }
+
+    private static List<PointHistory> readHistoryList(InputStream inputStream) throws IOException {
+        int count = Math.toIntExact(readVarint(inputStream));
+        List<PointHistory> histories = new ArrayList<>(count);
+        long id = 0;
+        long userId = 0;
+        long updateMillis = 0;
+        for (int i = 0; i < count; i++) {
+            id += unzigzag(readVarint(inputStream));
+            userId += unzigzag(readVarint(inputStream));
+            long amount = readVarint(inputStream);
+            TransactionType type = TYPES[readByte(inputStream)];
+            updateMillis += unzigzag(readVarint(inputStream));
+            histories.add(new PointHistory(id, userId, amount, type, updateMillis));
+        }
+        return histories;
+    }
+
+    private static void readVersion(InputStream inputStream) throws IOException {
+        int version = readByte(inputStream);
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 포인트 바이너리 형식 버전입니다: " + version);
+        }
+    }
+
+    private static long readVarint(InputStream inputStream) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte(inputStream);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("varint 가 너무 깁니다.");
+    }
+
+    private static int readByte(InputStream inputStream) throws IOException {
+        int b = inputStream.read();
+        if (b < 0) {
+            throw new EOFException("포인트 바이너리 응답이 중간에 끝났습니다.");
+        }
+        return b;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // 출력 스트림에 바이트 단위로 쓰지 않도록 모아서 쓴다. 작은 메시지에 8KB 버퍼를 만들지 않도록 최대 크기에 맞춘다.
+    private static final class Output {
+        private final OutputStream outputStream;
+        private final byte[] buffer;
+        private int position;
+
+        Output(OutputStream outputStream, long maxSize) {
+            this.outputStream = outputStream;
+            this.buffer = new byte[(int) Math.min(BUFFER_SIZE, maxSize)];
+        }
+
+        void writeByte(int b) throws IOException {
+            if (position == buffer.length) {
+                drain();
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        void writeVarint(long value) throws IOException {
+            if (buffer.length - position < MAX_VARINT_SIZE) {
+                drain();
+            }
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void flush() throws IOException {
+            drain();
+            outputStream.flush();
+        }
+
+        private void drain() throws IOException {
+            outputStream.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * 포인트 응답 바이너리 변환기
+ *  - Accept 에 application/vnd.hhplus.point 를 넣은 요청에만 UserPoint, List<PointHistory>, PointHistoryPage 를
+ *    PointBinaryCodec 형식으로 응답 스트림에 바로 쓴다. (JSON 과 달리 필드 이름/종류 문자열을 반복하지 않는다.)
+ *  - 응답 전용이며 요청 본문은 읽지 않는다.
+ */
+public class PointBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.hhplus.point";
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public PointBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    // 원소 타입을 알 수 없는 목록은 generic 타입으로만 판단한다. (canWrite(Type, Class, MediaType))
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserPoint.class == clazz || PointHistoryPage.class == clazz;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (supports(clazz) || isHistoryList(type)) && canWrite(mediaType);
+    }
+
+    // 응답 형식 협상은 원소 타입 없이 클래스만으로 형식 목록을 묻는다. 목록이 이력 목록인지는 canWrite(Type, ...) 에서 거른다.
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (object instanceof UserPoint userPoint) {
+            PointBinaryCodec.writeUserPoint(userPoint, outputMessage.getBody());
+        } else if (object instanceof PointHistoryPage page) {
+            PointBinaryCodec.writeHistoryPage(page, outputMessage.getBody());
+        } else {
+            PointBinaryCodec.writeHistories((List<PointHistory>) object, outputMessage.getBody());
+        }
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("포인트 바이너리 형식은 응답에만 사용합니다.", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("포인트 바이너리 형식은 응답에만 사용합니다.", inputMessage);
+    }
+
+    private boolean isHistoryList(Type type) {
+        if (type == null) {
+            return false;
+        }
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolvableType.toClass())
+                && resolvableType.getGeneric(0).toClass() == PointHistory.class;
+    }
+}
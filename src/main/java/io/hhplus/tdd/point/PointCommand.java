@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용 요청
+ *  - type 이 CHARGE 면 충전, USE 면 사용 규칙을 적용한다.
+ */
+public record PointCommand(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+
+    public static PointCommand charge(long userId, long amount) {
+        return new PointCommand(userId, TransactionType.CHARGE, amount);
+    }
+
+    public static PointCommand use(long userId, long amount) {
+        return new PointCommand(userId, TransactionType.USE, amount);
+    }
+
+    // 요청을 적용한 뒤의 포인트 계산 (규칙에 어긋나면 IllegalArgumentException)
+    public long applyTo(UserPoint userPoint) {
+        return switch (type) {
+            case CHARGE -> userPoint.chargePoint(amount);
+            case USE -> userPoint.usePoint(amount);
+        };
+    }
+}
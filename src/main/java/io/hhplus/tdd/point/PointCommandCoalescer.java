@@ -0,0 +1,132 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 사용자에 대한 동시 충전/사용 요청 합치기 (group commit)
+ *  - 요청은 사용자별 대기열에 쌓이고, 사용자 락을 얻은 스레드가 그동안 쌓인 요청을 한 번에 처리한다.
+ *  - 합쳐진 요청은 도착 순서대로 규칙을 검증하며, 조회/저장은 한 번씩만 한다. (PointCommandProcessor)
+ *  - 규칙에 어긋난 요청만 거절되고, 각 요청자는 자신의 요청 결과를 그대로 받는다.
+ *  - executeAll / executeForUser 는 합치지 않고 사용자 락 안에서 바로 실행한다.
+ *  - transfer 는 두 사용자의 락을 userId 순서로 얻은 뒤 실행한다. (UserLockManager.executeWithLocks)
+ */
+@Component
+public class PointCommandCoalescer implements PointCommandExecutor {
+
+    private final UserLockManager userLockManager;
+
+    private final PointCommandProcessor pointCommandProcessor;
+
+    private final PointMetrics pointMetrics;
+
+    private final ConcurrentHashMap<Long, PendingCommands> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder passCount = new LongAdder();
+    private final LongAdder commandCount = new LongAdder();
+
+    public PointCommandCoalescer(UserLockManager userLockManager, PointCommandProcessor pointCommandProcessor, PointMetrics pointMetrics) {
+        this.userLockManager = userLockManager;
+        this.pointCommandProcessor = pointCommandProcessor;
+        this.pointMetrics = pointMetrics;
+    }
+
+    @Override
+    public PointCommandResult execute(PointCommand command) {
+        long userId = command.userId();
+        PendingCommand mine = new PendingCommand(command, new CompletableFuture<>());
+        PendingCommands userCommands = pending.compute(userId, (id, commands) -> {
+            PendingCommands target = (commands == null) ? new PendingCommands() : commands;
+            target.queue.add(mine);
+            target.references++;
+            return target;
+        });
+
+        try {
+            userLockManager.executeWithLock(userId, fencingToken -> {
+                // 앞서 락을 얻은 스레드가 이미 처리했다면 결과만 가져간다.
+                if (!mine.result.isDone()) {
+                    processPending(userId, userCommands, fencingToken);
+                }
+                return null;
+            });
+        } finally {
+            pending.computeIfPresent(userId, (id, commands) -> --commands.references == 0 ? null : commands);
+        }
+
+        try {
+            return mine.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<PointCommandResult> executeAll(long userId, List<PointCommand> commands) {
+        return userLockManager.executeWithLock(userId, fencingToken -> pointCommandProcessor.process(userId, commands, fencingToken));
+    }
+
+    @Override
+    public <T> T executeForUser(long userId, Supplier<T> action) {
+        return userLockManager.executeWithLock(userId, action);
+    }
+
+    @Override
+    public List<PointCommandResult> transfer(long fromUserId, long toUserId, long amount) {
+        return userLockManager.executeWithLocks(fromUserId, toUserId, (fromFencingToken, toFencingToken) ->
+                pointCommandProcessor.transfer(fromUserId, toUserId, amount, fromFencingToken, toFencingToken));
+    }
+
+    // 합쳐서 처리한 횟수
+    public long passCount() {
+        return passCount.sum();
+    }
+
+    // 처리한 요청 수 (commandCount / passCount 가 평균적으로 합쳐진 요청 수)
+    public long commandCount() {
+        return commandCount.sum();
+    }
+
+    private void processPending(long userId, PendingCommands userCommands, long fencingToken) {
+        List<PendingCommand> batch = new ArrayList<>();
+        PendingCommand next;
+        while ((next = userCommands.queue.poll()) != null) {
+            batch.add(next);
+        }
+
+        try {
+            List<PointCommandResult> results = pointCommandProcessor.process(userId, batch.stream().map(PendingCommand::command).toList(), fencingToken);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pendingCommand -> pendingCommand.result.completeExceptionally(e));
+        }
+        passCount.increment();
+        commandCount.add(batch.size());
+        pointMetrics.recordCoalescedCommands(batch.size());
+    }
+
+    private record PendingCommand(
+            PointCommand command,
+            CompletableFuture<PointCommandResult> result
+    ) {
+    }
+
+    private static final class PendingCommands {
+        private final Queue<PendingCommand> queue = new ConcurrentLinkedQueue<>();
+        private int references; // compute 블록 안에서만 변경된다.
+    }
+}
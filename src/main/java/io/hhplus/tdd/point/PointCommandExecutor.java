@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 충전/사용 요청 실행기
+ *  - 같은 사용자에 대한 요청(충전/사용, 캐시 적재 등)은 서로 겹치지 않고 도착 순서대로 실행된다.
+ *    단, OptimisticPointExecutor 는 겹쳐 실행하고 저장 때 충돌을 확인해 다시 실행한다. (결과는 도착 순서 중 하나로 실행한 것과 같다.)
+ *  - 구현: PointCommandCoalescer (사용자 락 + 요청 합치기), PointPartitionEngine (사용자별 단일 스레드 파티션),
+ *    OptimisticPointExecutor (버전 비교 저장 + 재시도)
+ *    point.engine.type 으로 고른다. (PointCommandExecutorConfig)
+ */
+public interface PointCommandExecutor {
+
+    // 충전/사용 요청 하나를 처리하고 결과를 반환한다. 규칙에 어긋난 요청은 실패 결과로 반환한다.
+    PointCommandResult execute(PointCommand command);
+
+    // 한 사용자의 요청을 순서대로 처리하고, 요청과 같은 순서로 결과를 반환한다.
+    List<PointCommandResult> executeAll(long userId, List<PointCommand> commands);
+
+    // 같은 사용자의 다른 요청과 겹치지 않게 action 을 실행한다.
+    <T> T executeForUser(long userId, Supplier<T> action);
+
+    // 두 사용자의 다른 요청과 겹치지 않게 이체를 처리한다. 결과는 [보내는 쪽 사용, 받는 쪽 충전] 순서이다. (PointCommandProcessor.transfer)
+    List<PointCommandResult> transfer(long fromUserId, long toUserId, long amount);
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.database.VersionedStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * 사용자별 충전/사용 요청 실행기 설정
+ *  - point.engine.type 으로 같은 사용자의 요청을 직렬화하는 방식을 고른다.
+ *    lock: 사용자 락 + 요청 합치기 (PointCommandCoalescer, 기본값)
+ *    partition: userId 해시로 나눈 단일 스레드 파티션 (PointPartitionEngine)
+ *    optimistic: 락 없이 버전 비교 저장 + 재시도 (OptimisticPointExecutor, 저장소는 VersionedUserPointStore 로 감싼다.)
+ *      저장소가 버전 비교를 지원하지 않으면(VersionedStore 가 아니면) 요청을 받기 전, 시작할 때 IllegalStateException 으로 실패한다.
+ *  - PointService, PointBatchService 는 모두 이 실행기를 거치므로 두 방식이 섞여 실행되지 않는다.
+ *  - PointCommandCoalescer 도 PointCommandExecutor 빈이므로, 이 실행기를 @Primary 로 두어 타입으로 주입받는 곳이 항상 이 실행기를 받도록 한다.
+ */
+@Configuration
+public class PointCommandExecutorConfig {
+
+    @Bean
+    @Primary
+    public PointCommandExecutor pointCommandExecutor(
+            PointCommandCoalescer pointCommandCoalescer,
+            PointCommandProcessor pointCommandProcessor,
+            UserPointCache userPointCache,
+            UserPointStore userPointStore,
+            PointMetrics pointMetrics,
+            @Value("${point.engine.type}") String type,
+            @Value("${point.engine.partitions}") int partitions,
+            @Value("${point.engine.mailbox-capacity}") int mailboxCapacity,
+            @Value("${point.engine.optimistic.max-attempts}") int maxAttempts,
+            @Value("${point.engine.optimistic.backoff}") Duration backoff,
+            @Value("${point.engine.optimistic.max-backoff}") Duration maxBackoff
+    ) {
+        return switch (type) {
+            case "lock" -> pointCommandCoalescer;
+            case "partition" -> new PointPartitionEngine(pointCommandProcessor, pointMetrics, partitions, mailboxCapacity);
+            case "optimistic" -> new OptimisticPointExecutor(userPointCache, versioned(userPointStore), pointCommandProcessor, pointMetrics, maxAttempts, backoff, maxBackoff);
+            default -> throw new IllegalArgumentException("지원하지 않는 point.engine.type 입니다: " + type);
+        };
+    }
+
+    private static VersionedStore versioned(UserPointStore userPointStore) {
+        if (userPointStore instanceof VersionedStore versionedStore) {
+            return versionedStore;
+        }
+        throw new IllegalStateException("point.engine.type: optimistic 은 버전 비교 저장소(VersionedStore)가 필요합니다: " + userPointStore.getClass().getSimpleName());
+    }
+}
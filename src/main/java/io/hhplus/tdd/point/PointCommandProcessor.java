@@ -0,0 +1,217 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.database.VersionedStore;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자 한 명의 포인트 충전/사용 요청 처리기
+ *  - 포인트를 한 번 조회하고, 요청 순서대로 UserPoint 의 충전/사용 규칙을 적용한 뒤 최종 포인트를 한 번 저장한다.
+ *  - 규칙에 어긋나는 요청은 실패로 기록하고 건너뛰며(거절 사유별로 집계), 성공한 요청마다 이력을 남긴다.
+ *  - 같은 사용자에 대한 호출은 호출하는 쪽에서 직렬화해야 한다. (사용자 락 등)
+ *  - 사용자 락 안에서 호출하면 락의 fencing token 을 조회/저장 시 함께 넘긴다. (만료된 락의 늦은 저장은 저장소가 거절한다.)
+ *  - processIfUnchanged 는 직렬화 없이 호출할 수 있는 낙관적 처리이다. (조회한 버전이 그대로일 때에만 저장)
+ *  - transfer 는 두 사용자의 포인트를 함께 바꾸므로 두 사용자 모두 직렬화된 상태에서 호출해야 한다.
+ *    transferIfUnchanged 는 직렬화 없이 호출할 수 있는 낙관적 이체이다. (조회한 두 버전이 모두 그대로일 때에만 저장)
+ */
+@Component
+public class PointCommandProcessor {
+
+    private final UserPointCache userPointCache;
+
+    private final PointHistoryWriter pointHistoryWriter;
+
+    private final PointMetrics pointMetrics;
+
+    public PointCommandProcessor(UserPointCache userPointCache, PointHistoryWriter pointHistoryWriter, PointMetrics pointMetrics) {
+        this.userPointCache = userPointCache;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointMetrics = pointMetrics;
+    }
+
+    public List<PointCommandResult> process(long userId, List<PointCommand> commands) {
+        return process(userId, commands, UserPointStore.NO_FENCING_TOKEN);
+    }
+
+    public List<PointCommandResult> process(long userId, List<PointCommand> commands, long fencingToken) {
+        // 1. 사용자 조회(없으면 새로 생성), 조회 전에 fencing token 을 알려 이전 보유자의 늦은 저장을 막는다.
+        userPointCache.fence(userId, fencingToken);
+        UserPoint userPoint = userPointCache.selectById(userId);
+
+        // 2. 요청 순서대로 충전/사용 규칙 적용
+        Applied applied = apply(userId, userPoint, commands);
+
+        // 3. 최종 포인트 한 번 저장, 성공한 요청마다 이력 기록 요청(비동기)
+        if (!applied.commands().isEmpty()) {
+            userPointCache.insertOrUpdate(userId, applied.point(), fencingToken);
+        }
+        complete(userId, applied);
+        return applied.results();
+    }
+
+    /**
+     * 낙관적 처리
+     *  - 조회해 둔 userPoint 에 요청을 적용하고, 그 사이 다른 저장이 없었을 때에만(versionedStore 의 버전 비교) 저장한 뒤 캐시를 갱신한다.
+     *  - 다른 저장이 먼저 일어났으면 아무것도 남기지 않고 null 을 반환한다. 호출하는 쪽에서 다시 조회해 재시도한다.
+     */
+    public List<PointCommandResult> processIfUnchanged(VersionedStore versionedStore, UserPoint userPoint, List<PointCommand> commands) {
+        long userId = userPoint.id();
+        Applied applied = apply(userId, userPoint, commands);
+        if (!applied.commands().isEmpty()) {
+            UserPoint updated = versionedStore.compareAndSet(userId, userPoint.version(), applied.point());
+            if (updated == null) {
+                return null;
+            }
+            userPointCache.refresh(updated);
+        }
+        complete(userId, applied);
+        return applied.results();
+    }
+
+    /**
+     * 이체 처리 (fromUserId 사용 + toUserId 충전)
+     *  - 두 사용자에게 모두 규칙을 통과해야 반영하며, 하나라도 어긋나면 둘 다 같은 사유의 실패 결과로 반환한다.
+     *  - 보내는 쪽을 먼저 저장하고, 받는 쪽 저장이 실패하면 보내는 쪽을 원래 포인트로 되돌린 뒤 예외를 던진다.
+     *  - 두 저장이 끝난 뒤 보내는 쪽에 USE, 받는 쪽에 CHARGE 이력을 남긴다.
+     *  - 결과는 [보내는 쪽 사용, 받는 쪽 충전] 순서이다.
+     */
+    public List<PointCommandResult> transfer(long fromUserId, long toUserId, long amount, long fromFencingToken, long toFencingToken) {
+        if (fromUserId == toUserId) {
+            throw new IllegalArgumentException("같은 사용자에게 이체할 수 없습니다.");
+        }
+        PointCommand use = PointCommand.use(fromUserId, amount);
+        PointCommand charge = PointCommand.charge(toUserId, amount);
+        userPointCache.fence(fromUserId, fromFencingToken);
+        userPointCache.fence(toUserId, toFencingToken);
+        UserPoint from = userPointCache.selectById(fromUserId);
+        UserPoint to = userPointCache.selectById(toUserId);
+
+        AppliedTransfer applied = applyTransfer(use, from, charge, to);
+        if (!applied.success()) {
+            return applied.results();
+        }
+
+        userPointCache.insertOrUpdate(fromUserId, applied.fromPoint(), fromFencingToken);
+        try {
+            userPointCache.insertOrUpdate(toUserId, applied.toPoint(), toFencingToken);
+        } catch (RuntimeException e) {
+            userPointCache.insertOrUpdate(fromUserId, from.point(), fromFencingToken);
+            throw e;
+        }
+        completeTransfer(use, charge);
+        return applied.results();
+    }
+
+    /**
+     * 낙관적 이체 처리
+     *  - 조회해 둔 두 UserPoint 에 규칙을 적용하고, 그 사이 두 사용자 모두 다른 저장이 없었을 때에만(versionedStore 의 버전 비교) 함께 저장한 뒤 캐시를 갱신한다.
+     *  - 하나라도 다른 저장이 먼저 일어났으면 아무것도 남기지 않고 null 을 반환한다. 호출하는 쪽에서 다시 조회해 재시도한다.
+     *  - 규칙 위반과 받는 쪽 저장 실패는 transfer 와 같다.
+     */
+    public List<PointCommandResult> transferIfUnchanged(VersionedStore versionedStore, UserPoint from, UserPoint to, long amount) {
+        if (from.id() == to.id()) {
+            throw new IllegalArgumentException("같은 사용자에게 이체할 수 없습니다.");
+        }
+        PointCommand use = PointCommand.use(from.id(), amount);
+        PointCommand charge = PointCommand.charge(to.id(), amount);
+        AppliedTransfer applied = applyTransfer(use, from, charge, to);
+        if (!applied.success()) {
+            return applied.results();
+        }
+
+        List<UserPoint> updated = versionedStore.compareAndSetBoth(from, applied.fromPoint(), to, applied.toPoint());
+        if (updated == null) {
+            return null;
+        }
+        updated.forEach(userPointCache::refresh);
+        completeTransfer(use, charge);
+        return applied.results();
+    }
+
+    // 보내는 쪽에 사용, 받는 쪽에 충전 규칙을 적용한다. 하나라도 어긋나면 거절 사유를 집계하고 둘 다 같은 사유의 실패 결과로 만든다.
+    private AppliedTransfer applyTransfer(PointCommand use, UserPoint from, PointCommand charge, UserPoint to) {
+        long fromPoint;
+        long toPoint;
+        try {
+            fromPoint = use.applyTo(from);
+        } catch (IllegalArgumentException e) {
+            return rejectTransfer(use, from, charge, to, use.type(), e);
+        }
+        try {
+            toPoint = charge.applyTo(to);
+        } catch (IllegalArgumentException e) {
+            return rejectTransfer(use, from, charge, to, charge.type(), e);
+        }
+        return new AppliedTransfer(List.of(PointCommandResult.success(use, fromPoint), PointCommandResult.success(charge, toPoint)), true, fromPoint, toPoint);
+    }
+
+    private AppliedTransfer rejectTransfer(PointCommand use, UserPoint from, PointCommand charge, UserPoint to, TransactionType rejectedType, IllegalArgumentException e) {
+        pointMetrics.countRejection(rejectedType, PointRejectionReason.of(e));
+        return new AppliedTransfer(List.of(PointCommandResult.failure(use, from.point(), e.getMessage()), PointCommandResult.failure(charge, to.point(), e.getMessage())),
+                false, from.point(), to.point());
+    }
+
+    // 두 저장이 끝난 뒤 보내는 쪽에 USE, 받는 쪽에 CHARGE 이력 기록을 요청한다.
+    private void completeTransfer(PointCommand use, PointCommand charge) {
+        long updateMillis = System.currentTimeMillis();
+        pointHistoryWriter.append(use.userId(), use.amount(), use.type(), updateMillis);
+        pointHistoryWriter.append(charge.userId(), charge.amount(), charge.type(), updateMillis);
+    }
+
+    private Applied apply(long userId, UserPoint userPoint, List<PointCommand> commands) {
+        List<PointCommandResult> results = new ArrayList<>(commands.size());
+        List<PointCommand> applied = new ArrayList<>(commands.size());
+        List<Rejection> rejections = new ArrayList<>();
+        for (PointCommand command : commands) {
+            if (command.userId() != userId) {
+                throw new IllegalArgumentException("다른 사용자의 요청이 섞여 있습니다.");
+            }
+            try {
+                long updatedAmount = command.applyTo(userPoint);
+                userPoint = new UserPoint(userId, updatedAmount, userPoint.updateMillis());
+                applied.add(command);
+                results.add(PointCommandResult.success(command, updatedAmount));
+            } catch (IllegalArgumentException e) {
+                results.add(PointCommandResult.failure(command, userPoint.point(), e.getMessage()));
+                rejections.add(new Rejection(command.type(), PointRejectionReason.of(e)));
+            }
+        }
+        return new Applied(results, applied, rejections, userPoint.point());
+    }
+
+    // 저장이 끝난 뒤 거절 사유를 집계하고, 성공한 요청마다 이력 기록을 요청한다. (낙관적 처리의 재시도는 집계하지 않는다.)
+    private void complete(long userId, Applied applied) {
+        applied.rejections().forEach(rejection -> pointMetrics.countRejection(rejection.type(), rejection.reason()));
+        if (!applied.commands().isEmpty()) {
+            long updateMillis = System.currentTimeMillis();
+            applied.commands().forEach(command -> pointHistoryWriter.append(userId, command.amount(), command.type(), updateMillis));
+        }
+    }
+
+    private record Applied(
+            List<PointCommandResult> results,
+            List<PointCommand> commands,  // 규칙을 통과해 반영할 요청
+            List<Rejection> rejections,   // 규칙에 어긋난 요청의 거절 사유
+            long point                    // 반영한 뒤의 포인트
+    ) {
+    }
+
+    private record AppliedTransfer(
+            List<PointCommandResult> results, // [보내는 쪽 사용, 받는 쪽 충전]
+            boolean success,                  // 두 사용자 모두 규칙을 통과했는지
+            long fromPoint,                   // 반영한 뒤의 보내는 쪽 포인트
+            long toPoint                      // 반영한 뒤의 받는 쪽 포인트
+    ) {
+    }
+
+    private record Rejection(
+            TransactionType type,
+            PointRejectionReason reason
+    ) {
+    }
+}
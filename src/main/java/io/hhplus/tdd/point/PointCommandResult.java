@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용 요청 처리 결과
+ *  - success 가 true 면 point 는 요청을 반영한 뒤의 포인트이다.
+ *  - success 가 false 면 point 는 요청을 거절한 시점의 포인트이고, message 에 거절 사유가 담긴다.
+ */
+public record PointCommandResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        long point,
+        String message
+) {
+
+    public static PointCommandResult success(PointCommand command, long point) {
+        return new PointCommandResult(command.userId(), command.type(), command.amount(), true, point, null);
+    }
+
+    public static PointCommandResult failure(PointCommand command, long point, String message) {
+        return new PointCommandResult(command.userId(), command.type(), command.amount(), false, point, message);
+    }
+}
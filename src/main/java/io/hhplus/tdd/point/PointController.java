@@ -1,11 +1,19 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/point")
@@ -16,45 +24,158 @@ public class PointController {
     @Autowired
     private PointService pointService;
 
+    @Autowired
+    private PointAsyncService pointAsyncService;
+
+    @Autowired
+    private PointBatchService pointBatchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PointHistoryFeed pointHistoryFeed;
+
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     *  - 조회/충전/사용/내역 조회는 PointAsyncService 에서 처리되며, 처리되는 동안 서블릿 스레드를 점유하지 않습니다.
      */
     @GetMapping("{id}")
-    public UserPoint point(
+    public CompletableFuture<UserPoint> point(
             @PathVariable long id
     ) {
-        return pointService.getUserPointById(id);
+        return pointAsyncService.getUserPointById(id);
     }
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     *  - from, to(updateMillis, 둘 다 포함) 중 하나라도 넘기면 그 구간의 내역만 시각 순서대로 조회합니다.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
+    public CompletableFuture<List<PointHistory>> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        if (from == null && to == null) {
+            return pointAsyncService.getUserHistoryById(id);
+        }
+        return pointAsyncService.getUserHistoryByTime(id, from == null ? 0L : from, to == null ? Long.MAX_VALUE : to);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 id 커서로 나누어 조회합니다.
+     *  - 다음 페이지는 응답의 nextCursor 를 after 로 넘겨 요청합니다.
+     */
+    @GetMapping("{id}/histories/page")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return pointService.getUserHistoryPage(id, after, limit);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 합계와 건수를 조회합니다.
+     *  - 내역을 다시 합산하지 않고 기록할 때마다 갱신된 요약을 반환합니다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
+            @PathVariable long id
+    ) {
+        return pointService.getUserPointSummary(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 NDJSON(한 줄에 이력 하나)으로 내려줍니다.
+     *  - 전체 목록을 만들지 않고 조회하는 대로 응답에 씁니다.
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody historyStream(
             @PathVariable long id
     ) {
-        return pointService.getUserHistoryById(id);
+        Stream<PointHistory> histories = pointService.streamUserHistoryById(id);
+        return outputStream -> {
+            Iterator<PointHistory> iterator = histories.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+            }
+        };
+    }
+
+    /**
+     * 포인트 충전/이용 내역이 기록될 때마다 Server-Sent Events 로 내려줍니다.
+     *  - userId 를 넘기면 그 유저의 내역만 받습니다.
+     *  - 이벤트 id 는 내역 id 이며, 다시 연결할 때 Last-Event-ID 헤더로 넘기면 그 뒤의 내역부터 이어서 받습니다.
+     */
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        SseEmitter emitter = new SseEmitter(pointHistoryFeed.timeout().toMillis());
+        PointHistoryFeed.Subscription subscription = pointHistoryFeed.subscribe(userId, lastEventId, new PointHistoryFeed.Listener() {
+            @Override
+            public void onHistory(PointHistory pointHistory) throws IOException {
+                emitter.send(SseEmitter.event().id(String.valueOf(pointHistory.id())).name("history").data(pointHistory, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onClose() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        return emitter;
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     *  - Idempotency-Key 헤더가 같은 재시도는 다시 충전하지 않고 처음 결과를 돌려받습니다. (충전/사용 공통)
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
     ) {
-        return pointService.chargeUserPoint(id, amount);
+        return pointAsyncService.chargeUserPoint(id, amount, idempotencyKey);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        return pointAsyncService.usePoint(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체합니다.
+     *  - 보내는 유저의 사용과 받는 유저의 충전이 함께 반영되며, 둘 중 하나라도 실패하면 아무것도 반영되지 않습니다.
+     */
+    @PostMapping("transfer")
+    public PointTransferResult transfer(
+            @RequestBody PointTransfer transfer
+    ) {
+        return pointService.transferPoint(transfer);
+    }
+
+    /**
+     * 여러 사용자의 포인트 충전/사용 요청을 한 번에 처리합니다.
+     */
+    @PostMapping("batch")
+    public List<PointCommandResult> batch(
+            @RequestBody List<PointBatchCommand> commands
     ) {
-        return new UserPoint(0, 0, 0);
+        return pointBatchService.applyAll(commands);
     }
 }
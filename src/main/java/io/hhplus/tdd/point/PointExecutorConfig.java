@@ -0,0 +1,63 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 처리용 스레드 설정
+ *  - 가상 스레드 모드(spring.threads.virtual.enabled)에서는 작업마다 가상 스레드를 사용하고,
+ *    아니면 크기가 제한된 플랫폼 스레드 풀을 사용한다.
+ */
+@Configuration
+public class PointExecutorConfig {
+
+    // 일괄 처리 시 사용자별 작업을 병렬로 실행한다.
+    @Bean
+    public ExecutorService pointBatchExecutor(
+            @Value("${spring.threads.virtual.enabled}") boolean virtualThreads,
+            @Value("${point.batch.parallelism}") int parallelism
+    ) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-batch-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("point-batch-", 0).daemon(true).factory());
+    }
+
+    // 비동기 API(PointAsyncService)를 처리한다. 플랫폼 스레드 모드에서는 대기열이 가득 차면 요청을 거절한다. (RejectedExecutionException)
+    @Bean
+    public ExecutorService pointAsyncExecutor(
+            @Value("${spring.threads.virtual.enabled}") boolean virtualThreads,
+            @Value("${point.async.pool-size}") int poolSize,
+            @Value("${point.async.queue-capacity}") int queueCapacity,
+            PointMetrics pointMetrics
+    ) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-async-", 0).factory());
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("point-async-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        pointMetrics.gauge("point.async.queue.size", "비동기 처리 대기 중인 요청 수", executor.getQueue(), BlockingQueue::size);
+        return executor;
+    }
+
+    // 이력 피드(PointHistoryFeed) 구독자에게 이력을 보낸다. 플랫폼 스레드 모드에서는 전송이 막힌 구독자 수만큼 스레드가 묶인다.
+    @Bean
+    public ExecutorService pointFeedExecutor(
+            @Value("${spring.threads.virtual.enabled}") boolean virtualThreads,
+            @Value("${point.feed.sender-threads}") int senderThreads
+    ) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-feed-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(senderThreads, Thread.ofPlatform().name("point-feed-", 0).daemon(true).factory());
+    }
+}
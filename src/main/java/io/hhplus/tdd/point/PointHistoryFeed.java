@@ -0,0 +1,356 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 이력 피드 (GET /point/stream, Server-Sent Events)
+ *  - PointHistoryWriter 가 테이블에 기록해 id 가 발급된 이력을 기록 순서대로 구독자에게 보낸다.
+ *    (기록 대기 중인 이력은 id 가 없으므로 기록된 뒤에 보낸다.)
+ *  - 구독자마다 크기가 제한된 대기열(MpscMailbox)을 두고 pointFeedExecutor 에서 보낸다. 기록 스레드는 전송을 기다리지 않는다.
+ *  - 대기열이 가득 찬 느린 구독자는 point.feed.slow-consumer 에 따라 처리한다.
+ *    disconnect: 새 이력은 받지 않고, 쌓인 이력까지 보낸 뒤 연결을 끊는다. (마지막 id 로 다시 연결해 이어받는다.)
+ *    drop: 새 이력을 버린다. (받는 쪽에서는 id 가 건너뛰어 보인다.)
+ *  - 다시 연결할 때 마지막으로 받은 이력 id(Last-Event-ID)를 넘기면 그 뒤의 이력부터 이어서 받는다.
+ *    사용자를 지정한 구독은 색인에서 다시 읽고, 전체 구독은 피드가 보관하는 최근 point.feed.retention 건 안에서만 이어받는다.
+ *  - 구독자 수를 point.feed.subscribers 로 노출한다.
+ *  - 기록기 구독과 gauge 등록은 생성이 끝난 뒤 start 에서 한다.
+ */
+@Component
+public class PointHistoryFeed {
+
+    private static final int SEND_LIMIT = 256; // 구독자 하나를 한 번에 보내는 최대 이력 수 (다른 구독자 전송이 밀리지 않도록)
+
+    private static final int BACKLOG_PAGE_SIZE = 500;
+
+    private static final String DISCONNECT = "disconnect";
+    private static final String DROP = "drop";
+
+    private final PointHistoryWriter pointHistoryWriter;
+
+    private final ExecutorService pointFeedExecutor;
+
+    private final PointMetrics pointMetrics;
+
+    private final int bufferSize;
+
+    private final String slowConsumerPolicy;
+
+    private final Duration timeout;
+
+    // 아래 필드는 lock 으로 보호한다. (이력 전달과 구독 등록이 섞이지 않도록)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PointHistory[] retained; // 최근 이력 (원형 버퍼)
+    private long publishedCount;
+    private final Set<Subscription> allUsers = new HashSet<>();
+    private final Map<Long, Set<Subscription>> byUser = new HashMap<>();
+
+    public PointHistoryFeed(
+            PointHistoryWriter pointHistoryWriter,
+            @Qualifier("pointFeedExecutor") ExecutorService pointFeedExecutor,
+            PointMetrics pointMetrics,
+            @Value("${point.feed.retention}") int retention,
+            @Value("${point.feed.buffer-size}") int bufferSize,
+            @Value("${point.feed.slow-consumer}") String slowConsumerPolicy,
+            @Value("${point.feed.timeout}") Duration timeout
+    ) {
+        if (retention < 1) {
+            throw new IllegalArgumentException("보관할 이력 수는 1 이상이어야 합니다.");
+        }
+        if (!DISCONNECT.equals(slowConsumerPolicy) && !DROP.equals(slowConsumerPolicy)) {
+            throw new IllegalArgumentException("지원하지 않는 point.feed.slow-consumer 입니다: " + slowConsumerPolicy);
+        }
+        if (Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("구독자 대기열 크기는 2의 거듭제곱이어야 합니다.");
+        }
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointFeedExecutor = pointFeedExecutor;
+        this.pointMetrics = pointMetrics;
+        this.bufferSize = bufferSize;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.timeout = timeout;
+        this.retained = new PointHistory[retention];
+    }
+
+    // 생성이 끝난 뒤에 this 를 기록기와 gauge 에 넘긴다. (생성 중인 피드로 이력이 전달되지 않도록)
+    @PostConstruct
+    public void start() {
+        pointMetrics.gauge("point.feed.subscribers", "이력 피드 구독자 수", this, PointHistoryFeed::size);
+        pointHistoryWriter.addListener(this::publish);
+    }
+
+    /**
+     * 이력 구독
+     *  - userId 가 null 이면 모든 사용자의 이력을 받는다.
+     *  - lastEventId 가 있으면 id 가 그보다 큰 이력을 먼저 보낸 뒤 새 이력을 이어서 보낸다. (같은 이력은 두 번 보내지 않는다.)
+     * Exception 처리 항목
+     *  1. userId가 음수인 경우
+     *  2. lastEventId 가 음수인 경우
+     */
+    public Subscription subscribe(Long userId, Long lastEventId, Listener listener) {
+        if (userId != null && userId <= 0) {
+            throw new IllegalArgumentException("userId는 음수일 수 없습니다.");
+        }
+        if (lastEventId != null && lastEventId < 0) {
+            throw new IllegalArgumentException("Last-Event-ID는 음수일 수 없습니다.");
+        }
+        Subscription subscription = new Subscription(userId, listener);
+        lock.lock();
+        try {
+            // 등록과 같은 락 안에서 이어받을 이력을 정해, 등록 전에 전달된 이력은 여기서, 이후 이력은 대기열로 받는다.
+            if (lastEventId != null) {
+                subscription.backlog = (userId == null) ? retainedAfter(lastEventId).iterator() : indexedAfter(userId, lastEventId);
+            }
+            if (userId == null) {
+                allUsers.add(subscription);
+            } else {
+                byUser.computeIfAbsent(userId, id -> new HashSet<>()).add(subscription);
+            }
+        } finally {
+            lock.unlock();
+        }
+        subscription.schedule();
+        return subscription;
+    }
+
+    // SSE 연결 유지 시간 (지나면 끊기고, 받는 쪽은 Last-Event-ID 로 다시 연결한다.)
+    public Duration timeout() {
+        return timeout;
+    }
+
+    // 현재 구독자 수
+    public int size() {
+        lock.lock();
+        try {
+            return allUsers.size() + byUser.values().stream().mapToInt(Set::size).sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        List<Subscription> subscriptions = new ArrayList<>();
+        lock.lock();
+        try {
+            subscriptions.addAll(allUsers);
+            byUser.values().forEach(subscriptions::addAll);
+        } finally {
+            lock.unlock();
+        }
+        subscriptions.forEach(Subscription::close);
+    }
+
+    // PointHistoryWriter 의 기록 스레드에서 기록 순서대로 호출된다.
+    void publish(PointHistory pointHistory) {
+        lock.lock();
+        try {
+            retained[(int) (publishedCount++ % retained.length)] = pointHistory;
+            List<Subscription> overflowed = new ArrayList<>();
+            offerAll(allUsers, pointHistory, overflowed);
+            offerAll(byUser.getOrDefault(pointHistory.userId(), Collections.emptySet()), pointHistory, overflowed);
+            overflowed.forEach(this::unregister);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void offerAll(Set<Subscription> subscriptions, PointHistory pointHistory, List<Subscription> overflowed) {
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.offer(pointHistory)) {
+                overflowed.add(subscription);
+            }
+        }
+    }
+
+    // lock 안에서 호출한다.
+    private List<PointHistory> retainedAfter(long lastEventId) {
+        List<PointHistory> histories = new ArrayList<>();
+        long from = Math.max(0, publishedCount - retained.length);
+        for (long i = from; i < publishedCount; i++) {
+            PointHistory pointHistory = retained[(int) (i % retained.length)];
+            if (pointHistory.id() > lastEventId) {
+                histories.add(pointHistory);
+            }
+        }
+        return histories;
+    }
+
+    // 색인은 처음 꺼낼 때(등록한 뒤 전송 스레드에서) 읽는다. 그 사이 기록된 이력은 대기열과 겹칠 수 있으나 id 로 걸러진다.
+    private Iterator<PointHistory> indexedAfter(long userId, long lastEventId) {
+        return new Iterator<>() {
+            private Long afterId = lastEventId; // 마지막 페이지를 읽으면 null
+            private Iterator<PointHistory> page = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!page.hasNext() && afterId != null) {
+                    PointHistoryPage next = pointHistoryWriter.selectPageByUserId(userId, afterId, BACKLOG_PAGE_SIZE);
+                    page = next.items().iterator();
+                    afterId = next.nextCursor();
+                }
+                return page.hasNext();
+            }
+
+            @Override
+            public PointHistory next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.next();
+            }
+        };
+    }
+
+    private void unregister(Subscription subscription) {
+        lock.lock();
+        try {
+            if (subscription.userId == null) {
+                allUsers.remove(subscription);
+            } else {
+                Set<Subscription> subscriptions = byUser.get(subscription.userId);
+                if (subscriptions != null && subscriptions.remove(subscription) && subscriptions.isEmpty()) {
+                    byUser.remove(subscription.userId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 구독자에게 이력을 보내는 쪽 (SSE 연결 등)
+     *  - 구독자 하나에 대한 호출은 겹치지 않고 차례로 일어난다.
+     */
+    public interface Listener {
+
+        // 이력 하나를 보낸다. 예외가 발생하면(연결 끊김 등) 구독을 끝낸다.
+        void onHistory(PointHistory pointHistory) throws IOException;
+
+        // 구독이 끝났다. (느린 구독자 연결 끊기, 전송 실패, 구독 취소, 종료)
+        void onClose();
+    }
+
+    /**
+     * 구독 하나
+     *  - 대기열에 이력이 있으면 전송 작업을 하나만 실행기에 넘기고, 작업은 대기열을 비울 때까지 차례로 보낸다.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final Long userId;
+
+        private final Listener listener;
+
+        private final MpscMailbox<PointHistory> mailbox = new MpscMailbox<>(bufferSize);
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private volatile boolean draining; // 느린 구독자: 쌓인 이력까지 보내고 끝낸다.
+
+        private volatile boolean cancelled; // 바로 끝낸다.
+
+        private Iterator<PointHistory> backlog = Collections.emptyIterator(); // 전송 작업에서만 사용 (등록 전에 정한다.)
+
+        private long lastSentId = -1; // 전송 작업에서만 사용
+
+        private Subscription(Long userId, Listener listener) {
+            this.userId = userId;
+            this.listener = listener;
+        }
+
+        // 구독을 취소한다. 이미 끝났으면 아무것도 하지 않는다.
+        @Override
+        public void close() {
+            cancelled = true;
+            unregister(this);
+            schedule();
+        }
+
+        // 피드 lock 안에서 호출된다. 대기열이 가득 차 구독을 끝내야 하면 false 를 반환한다.
+        private boolean offer(PointHistory pointHistory) {
+            if (mailbox.offer(pointHistory)) {
+                schedule();
+                return true;
+            }
+            pointMetrics.countFeedOverflow(slowConsumerPolicy);
+            if (DROP.equals(slowConsumerPolicy)) {
+                return true;
+            }
+            draining = true;
+            schedule();
+            return false;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    pointFeedExecutor.execute(this::send);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    finish();
+                }
+            }
+        }
+
+        private void send() {
+            try {
+                for (int sent = 0; sent < SEND_LIMIT && !cancelled; ) {
+                    PointHistory next = backlog.hasNext() ? backlog.next() : mailbox.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next.id() > lastSentId) {
+                        listener.onHistory(next);
+                        lastSentId = next.id();
+                        sent++;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                cancelled = true;
+                unregister(this);
+            }
+            if (cancelled) {
+                finish();
+                return;
+            }
+            boolean pending = backlog.hasNext() || mailbox.size() > 0;
+            if (draining && !pending) {
+                finish();
+                return;
+            }
+            scheduled.set(false);
+            // 작업을 내려놓는 사이 들어온 이력이나 취소를 놓치지 않도록 다시 확인한다.
+            if (pending || mailbox.size() > 0 || cancelled) {
+                schedule();
+            }
+        }
+
+        private void finish() {
+            if (finished.compareAndSet(false, true)) {
+                listener.onClose();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 포인트 이력 페이지
+ *  - items: id 오름차순 이력
+ *  - nextCursor: 다음 페이지 요청 시 after 로 넘길 id (마지막 페이지면 null)
+ */
+public record PointHistoryPage(
+        List<PointHistory> items,
+        Long nextCursor
+) {
+}
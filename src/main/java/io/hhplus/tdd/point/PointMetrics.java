@@ -0,0 +1,164 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 포인트 처리 구간 계측 (Micrometer, /actuator/prometheus 로 노출)
+ *  - point.service: 서비스 호출 시간 (operation, outcome)
+ *  - point.table: UserPointTable / PointHistoryTable 호출 시간 (table, operation, outcome)
+ *  - point.lock.wait / point.lock.hold: 사용자 락 대기 시간과 보유 시간
+ *  - point.rejections: UserPoint 규칙 검증으로 거절된 요청 수 (operation, reason: PointRejectionReason 의 고정 코드)
+ *  - point.coalesced.commands: 사용자 락 한 번에 합쳐 처리한 요청 수
+ *  - point.optimistic.conflicts / point.optimistic.attempts / point.optimistic.exhausted: 낙관적 처리의 충돌 수, 요청당 시도 횟수, 재시도 소진 수
+ *  - point.rate.limited: 유입 제한으로 거절된 요청 수 (scope: user, global)
+ *  - point.feed.overflows: 이력 피드 대기열이 가득 찬 느린 구독자를 처리한 수 (policy: disconnect, drop)
+ *  - point.history.write.failures: 이력 테이블 기록에 실패해 다시 시도하게 된 수
+ * outcome 은 success(정상), rejected(IllegalArgumentException, 요청 거절), error(그 외 예외) 중 하나이다.
+ * 시간 측정값은 Prometheus 히스토그램(버킷)으로도 내보낸다.
+ */
+@Component
+public class PointMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String REJECTED = "rejected";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer lockWait;
+    private final Timer lockHold;
+    private final DistributionSummary coalescedCommands;
+    private final DistributionSummary optimisticAttempts;
+    private final Counter optimisticConflicts;
+    private final Counter optimisticExhausted;
+    private final Counter historyWriteFailures;
+
+    public PointMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lockWait = Timer.builder("point.lock.wait")
+                .description("사용자 락을 얻기까지 기다린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.lockHold = Timer.builder("point.lock.hold")
+                .description("사용자 락을 보유한 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.coalescedCommands = DistributionSummary.builder("point.coalesced.commands")
+                .description("사용자 락 한 번에 합쳐 처리한 요청 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.optimisticAttempts = DistributionSummary.builder("point.optimistic.attempts")
+                .description("낙관적 처리에서 요청 하나를 저장하기까지 시도한 횟수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.optimisticConflicts = Counter.builder("point.optimistic.conflicts")
+                .description("낙관적 처리에서 다른 저장과 충돌해 다시 시도한 횟수")
+                .register(meterRegistry);
+        this.optimisticExhausted = Counter.builder("point.optimistic.exhausted")
+                .description("낙관적 처리에서 재시도를 모두 실패한 요청 수")
+                .register(meterRegistry);
+        this.historyWriteFailures = Counter.builder("point.history.write.failures")
+                .description("이력 테이블 기록에 실패해 다시 시도하게 된 수")
+                .register(meterRegistry);
+    }
+
+    // 서비스 호출 시간 기록
+    public <T> T recordService(String operation, Supplier<T> call) {
+        return record("point.service", call, "operation", operation);
+    }
+
+    // 테이블 호출 시간 기록
+    public <T> T recordTable(String table, String operation, Supplier<T> call) {
+        return record("point.table", call, "table", table, "operation", operation);
+    }
+
+    public void recordLockWait(long nanos) {
+        lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(long nanos) {
+        lockHold.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // reason 은 거절 메시지가 아닌 고정 코드이므로 태그 값의 종류가 사유 수로 제한된다.
+    public void countRejection(TransactionType type, PointRejectionReason reason) {
+        Counter.builder("point.rejections")
+                .description("UserPoint 규칙 검증으로 거절된 요청 수")
+                .tag("operation", type.name().toLowerCase())
+                .tag("reason", reason.tag())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordOptimisticAttempts(int attempts) {
+        optimisticAttempts.record(attempts);
+    }
+
+    public void countOptimisticConflict() {
+        optimisticConflicts.increment();
+    }
+
+    public void countOptimisticExhausted() {
+        optimisticExhausted.increment();
+    }
+
+    public void countHistoryWriteFailure() {
+        historyWriteFailures.increment();
+    }
+
+    public void countRateLimited(String scope) {
+        Counter.builder("point.rate.limited")
+                .description("유입 제한으로 거절된 요청 수")
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void countFeedOverflow(String policy) {
+        Counter.builder("point.feed.overflows")
+                .description("이력 피드 대기열이 가득 차 연결을 끊거나 이력을 버린 수")
+                .tag("policy", policy)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordCoalescedCommands(int count) {
+        coalescedCommands.record(count);
+    }
+
+    public <T> void gauge(String name, String description, T target, ToDoubleFunction<T> value, String... tags) {
+        Gauge.builder(name, target, value)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private <T> T record(String name, Supplier<T> call, String... tags) {
+        long start = System.nanoTime();
+        String outcome = ERROR;
+        try {
+            T result = call.get();
+            outcome = SUCCESS;
+            return result;
+        } catch (IllegalArgumentException e) {
+            outcome = REJECTED;
+            throw e;
+        } finally {
+            Timer.builder(name)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
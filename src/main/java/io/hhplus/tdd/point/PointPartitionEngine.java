@@ -0,0 +1,314 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 단일 스레드 파티션 실행기 (actor 방식)
+ *  - userId 의 해시로 파티션을 고르고, 파티션마다 하나뿐인 스레드가 대기열(MpscMailbox)의 요청을 도착 순서대로 실행한다.
+ *    같은 사용자의 요청은 항상 같은 스레드에서 차례로 실행되므로 사용자 락이 필요 없다.
+ *  - 파티션 스레드는 대기열에 쌓인 요청을 한 번에 꺼내 사용자별로 묶고, 연달아 온 충전/사용 요청은
+ *    PointCommandProcessor 한 번으로 합쳐 처리한다. (조회/저장 한 번)
+ *  - 대기열이 가득 차면 요청 스레드가 빈 자리가 생길 때까지 대기한다. (backpressure)
+ *  - 파티션별 대기열 크기를 point.partition.queue.size (partition 태그) 로 노출한다.
+ *  - 파티션 스레드 안에서 다시 이 실행기를 호출하면 자기 자신을 기다리게 되므로 호출하지 않는다.
+ *  - 이체는 요청 스레드가 두 사용자를 userId 가 작은 쪽부터 차례로 붙잡은(hold) 뒤 직접 실행하고 놓아준다(release).
+ *    붙잡힌 사용자의 이후 요청은 파티션 스레드가 실행하지 않고 따로 모아 두었다가 놓아줄 때 순서대로 실행한다.
+ *    파티션 스레드는 이체를 기다리지 않으므로, 같은 파티션의 다른 사용자 요청은 이체 중에도 계속 처리된다.
+ *    붙잡는 순서가 userId 순으로 정해져 있어 이체끼리 교착되지 않는다.
+ */
+public class PointPartitionEngine implements PointCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PointPartitionEngine.class);
+
+    private static final int DRAIN_LIMIT = 256; // 파티션 스레드가 한 번에 꺼내는 최대 요청 수
+
+    private static final long BACKPRESSURE_PARK_NANOS = 50_000L;
+
+    private final PointCommandProcessor pointCommandProcessor;
+
+    private final PointMetrics pointMetrics;
+
+    private final Partition[] partitions;
+
+    private volatile boolean running = true;
+
+    public PointPartitionEngine(PointCommandProcessor pointCommandProcessor, PointMetrics pointMetrics, int partitionCount, int mailboxCapacity) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("파티션 수는 1 이상이어야 합니다.");
+        }
+        this.pointCommandProcessor = pointCommandProcessor;
+        this.pointMetrics = pointMetrics;
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i, mailboxCapacity);
+            pointMetrics.gauge("point.partition.queue.size", "파티션 대기열에서 실행을 기다리는 요청 수",
+                    partitions[i].mailbox, MpscMailbox::size, "partition", String.valueOf(i));
+        }
+        for (Partition partition : partitions) {
+            partition.thread.start();
+        }
+    }
+
+    @Override
+    public PointCommandResult execute(PointCommand command) {
+        return executeAll(command.userId(), List.of(command)).get(0);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PointCommandResult> executeAll(long userId, List<PointCommand> commands) {
+        return (List<PointCommandResult>) submit(new Message(userId, Kind.COMMANDS, commands, null));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T executeForUser(long userId, Supplier<T> action) {
+        return (T) submit(new Message(userId, Kind.ACTION, null, action));
+    }
+
+    @Override
+    public List<PointCommandResult> transfer(long fromUserId, long toUserId, long amount) {
+        if (fromUserId == toUserId) {
+            // 같은 사용자를 두 번 붙잡으면 자기 자신을 기다리게 되므로 그 사용자의 파티션에서 바로 실행한다.
+            return executeForUser(fromUserId, () -> pointCommandProcessor.transfer(fromUserId, toUserId, amount,
+                    UserPointStore.NO_FENCING_TOKEN, UserPointStore.NO_FENCING_TOKEN));
+        }
+        long firstUserId = Math.min(fromUserId, toUserId);
+        long secondUserId = Math.max(fromUserId, toUserId);
+        hold(firstUserId);
+        try {
+            hold(secondUserId);
+            try {
+                return pointCommandProcessor.transfer(fromUserId, toUserId, amount,
+                        UserPointStore.NO_FENCING_TOKEN, UserPointStore.NO_FENCING_TOKEN);
+            } finally {
+                release(secondUserId);
+            }
+        } finally {
+            release(firstUserId);
+        }
+    }
+
+    // userId 의 앞선 요청이 모두 끝난 뒤 붙잡고 돌아온다. 이미 다른 이체가 붙잡고 있으면 놓아줄 때까지 기다린다.
+    private void hold(long userId) {
+        submit(new Message(userId, Kind.HOLD, null, null));
+    }
+
+    // 붙잡는 동안 모아 둔 요청은 파티션 스레드가 이어서 실행하므로 끝날 때까지 기다리지 않는다.
+    private void release(long userId) {
+        partitionOf(userId).post(new Message(userId, Kind.RELEASE, null, null));
+    }
+
+    // 남은 요청을 모두 실행한 뒤 파티션 스레드를 종료한다.
+    public void close() throws InterruptedException {
+        running = false;
+        for (Partition partition : partitions) {
+            LockSupport.unpark(partition.thread);
+        }
+        for (Partition partition : partitions) {
+            partition.thread.join();
+            // 종료 직전에 들어온 요청은 실행하지 않고 실패로 완료한다.
+            Message message;
+            while ((message = partition.mailbox.poll()) != null) {
+                message.result.completeExceptionally(new IllegalStateException("포인트 파티션 실행기가 종료되었습니다."));
+            }
+            // 놓아주지 못한 사용자에게 모아 둔 요청도 같은 이유로 실패한다.
+            partition.held.values().forEach(deferred -> deferred.forEach(held ->
+                    held.result.completeExceptionally(new IllegalStateException("포인트 파티션 실행기가 종료되었습니다."))));
+        }
+    }
+
+    private Object submit(Message message) {
+        if (!running) {
+            throw new IllegalStateException("포인트 파티션 실행기가 종료되었습니다.");
+        }
+        Partition partition = partitionOf(message.userId);
+        partition.post(message);
+        if (!running) {
+            // 파티션 스레드가 종료된 뒤에 넣은 요청은 실행되지 않는다. 이미 실행되었다면 아래 실패 처리는 무시된다.
+            awaitTermination(partition);
+            message.result.completeExceptionally(new IllegalStateException("포인트 파티션 실행기가 종료되었습니다."));
+        }
+        try {
+            return message.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void awaitTermination(Partition partition) {
+        try {
+            partition.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Partition partitionOf(long userId) {
+        return partitions[indexOf(userId)];
+    }
+
+    private int indexOf(long userId) {
+        // 연속된 userId 도 고르게 흩어지도록 섞는다. (피보나치 해싱)
+        return Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), partitions.length);
+    }
+
+    // 사용자별로 묶되 같은 사용자의 요청 순서는 그대로 둔다. (다른 사용자 사이의 순서는 상관없다.)
+    private void process(Partition partition, List<Message> drained) {
+        Map<Long, List<Message>> byUser = new LinkedHashMap<>();
+        for (Message message : drained) {
+            byUser.computeIfAbsent(message.userId, userId -> new ArrayList<>()).add(message);
+        }
+        byUser.forEach((userId, messages) -> processUser(partition, userId, messages));
+    }
+
+    private void processUser(Partition partition, long userId, Iterable<Message> messages) {
+        List<Message> commandRun = new ArrayList<>();
+        for (Message message : messages) {
+            ArrayDeque<Message> deferred = partition.held.get(userId);
+            if (deferred != null && message.kind != Kind.RELEASE) {
+                deferred.add(message);
+                continue;
+            }
+            if (message.kind == Kind.COMMANDS) {
+                commandRun.add(message);
+                continue;
+            }
+            processCommands(userId, commandRun);
+            commandRun.clear();
+            switch (message.kind) {
+                case ACTION -> {
+                    try {
+                        message.result.complete(message.action.get());
+                    } catch (Throwable e) {
+                        message.result.completeExceptionally(e);
+                    }
+                }
+                case HOLD -> {
+                    partition.held.put(userId, new ArrayDeque<>());
+                    message.result.complete(null);
+                }
+                case RELEASE -> {
+                    // 붙잡은 동안 모아 둔 요청을 이 묶음의 나머지 요청보다 먼저 실행한다. (그 안의 HOLD 는 다시 붙잡는다.)
+                    processUser(partition, userId, partition.held.remove(userId));
+                    message.result.complete(null);
+                }
+                default -> throw new IllegalStateException("지원하지 않는 요청 종류입니다: " + message.kind);
+            }
+        }
+        processCommands(userId, commandRun);
+    }
+
+    // 연달아 온 충전/사용 요청을 한 번에 처리하고, 결과를 요청별로 나누어 돌려준다.
+    private void processCommands(long userId, List<Message> commandRun) {
+        if (commandRun.isEmpty()) {
+            return;
+        }
+        List<PointCommand> commands = new ArrayList<>();
+        commandRun.forEach(message -> commands.addAll(message.commands));
+        pointMetrics.recordCoalescedCommands(commands.size());
+        try {
+            List<PointCommandResult> results = pointCommandProcessor.process(userId, commands);
+            int from = 0;
+            for (Message message : commandRun) {
+                int to = from + message.commands.size();
+                message.result.complete(List.copyOf(results.subList(from, to)));
+                from = to;
+            }
+        } catch (Throwable e) {
+            commandRun.forEach(message -> message.result.completeExceptionally(e));
+        }
+    }
+
+    private enum Kind {
+        COMMANDS, // 충전/사용 요청
+        ACTION,   // 사용자 단위 작업 (캐시 적재 등)
+        HOLD,     // 이체를 위해 사용자를 붙잡음
+        RELEASE   // 붙잡은 사용자를 놓아줌
+    }
+
+    private record Message(
+            long userId,
+            Kind kind,
+            List<PointCommand> commands, // COMMANDS 일 때만
+            Supplier<?> action,          // ACTION 일 때만
+            CompletableFuture<Object> result
+    ) {
+        Message(long userId, Kind kind, List<PointCommand> commands, Supplier<?> action) {
+            this(userId, kind, commands, action, new CompletableFuture<>());
+        }
+    }
+
+    private final class Partition {
+        private final MpscMailbox<Message> mailbox;
+        private final Thread thread;
+        private volatile boolean sleeping; // 대기열이 비어 스레드가 잠들려는 중
+        private final Map<Long, ArrayDeque<Message>> held = new HashMap<>(); // 이체가 붙잡은 사용자와 그동안 모아 둔 요청 (파티션 스레드만 접근)
+
+        Partition(int index, int mailboxCapacity) {
+            this.mailbox = new MpscMailbox<>(mailboxCapacity);
+            this.thread = Thread.ofPlatform().name("point-partition-" + index).daemon(true).unstarted(this::run);
+        }
+
+        void post(Message message) {
+            while (!mailbox.offer(message)) {
+                if (!running) {
+                    throw new IllegalStateException("포인트 파티션 실행기가 종료되었습니다.");
+                }
+                LockSupport.unpark(thread);
+                LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+            }
+            // 잠들려는 파티션 스레드가 이 요청을 보지 못했을 수 있으므로 깨운다.
+            if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private void run() {
+            List<Message> drained = new ArrayList<>(DRAIN_LIMIT);
+            while (true) {
+                Message message;
+                while (drained.size() < DRAIN_LIMIT && (message = mailbox.poll()) != null) {
+                    drained.add(message);
+                }
+                if (!drained.isEmpty()) {
+                    try {
+                        process(this, drained);
+                    } catch (RuntimeException e) {
+                        log.error("포인트 파티션 처리 중 오류가 발생했습니다.", e);
+                    }
+                    drained.clear();
+                    continue;
+                }
+                if (!running) {
+                    return;
+                }
+                // sleeping 을 먼저 알린 뒤 한 번 더 확인해, 그 사이에 들어온 요청을 놓치지 않는다.
+                sleeping = true;
+                message = mailbox.poll();
+                if (message == null) {
+                    LockSupport.park(this);
+                } else {
+                    drained.add(message);
+                }
+                sleeping = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 포인트 API 유입 제한 설정
+ *  - point.rate-limit.enabled 면 /point/** 요청에 PointRateLimitInterceptor 를 적용한다.
+ */
+@Configuration
+public class PointRateLimitConfig implements WebMvcConfigurer {
+
+    private final boolean enabled;
+
+    private final PointRateLimiter pointRateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    public PointRateLimitConfig(@Value("${point.rate-limit.enabled}") boolean enabled, PointRateLimiter pointRateLimiter, ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.pointRateLimiter = pointRateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            registry.addInterceptor(new PointRateLimitInterceptor(pointRateLimiter, objectMapper)).addPathPatterns("/point/**");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
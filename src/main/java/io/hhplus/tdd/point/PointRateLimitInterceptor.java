@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 API 유입 제한 인터셉터
+ *  - PointController 를 호출하기 전에 PointRateLimiter 로 요청을 받을지 정한다.
+ *    경로의 {id} 를 사용자로 보고, {id} 가 없는 요청(/point/batch)은 전체 제한만 적용한다.
+ *  - 초과한 요청은 서비스/테이블을 거치지 않고 바로 429 Too Many Requests 와 Retry-After(초) 로 응답한다.
+ */
+public class PointRateLimitInterceptor implements HandlerInterceptor {
+
+    private static final ErrorResponse TOO_MANY_REQUESTS = new ErrorResponse("429", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+
+    private final PointRateLimiter pointRateLimiter;
+
+    private final byte[] body;
+
+    public PointRateLimitInterceptor(PointRateLimiter pointRateLimiter, ObjectMapper objectMapper) throws IOException {
+        this.pointRateLimiter = pointRateLimiter;
+        this.body = objectMapper.writeValueAsBytes(TOO_MANY_REQUESTS);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true; // CompletableFuture 결과를 쓰는 재호출은 이미 받은 요청이다.
+        }
+        long wait = pointRateLimiter.tryAcquire(userIdOf(request));
+        if (wait == 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1L, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    private Long userIdOf(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get("id") == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(variables.get("id"));
+        } catch (NumberFormatException e) {
+            return null; // 잘못된 id 는 컨트롤러에서 거절된다.
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 포인트 API 유입 제한 (사용자별 + 전체 토큰 버킷)
+ *  - 사용자마다 point.rate-limit.user 의 토큰 버킷을, 모든 요청이 point.rate-limit.global 의 토큰 버킷 하나를 함께 쓴다.
+ *    사용자 버킷을 먼저 확인하므로 한 사용자의 초과 요청이 전체 버킷의 토큰을 쓰지 않는다.
+ *  - 버킷은 락 없이 CAS 로 갱신한다. (TokenBucket)
+ *  - 토큰이 가득 찬(쉬고 있는) 사용자 버킷은 idle-eviction-interval 마다 제거한다.
+ *    다음 요청에서 가득 찬 버킷을 새로 만들므로 제한이 달라지지 않는다. (제거와 동시에 받은 요청 한 건은 잊힐 수 있다.)
+ *  - 거절된 요청 수를 point.rate.limited (scope: user, global) 로, 사용자 버킷 수를 point.rate.buckets 로 노출한다.
+ */
+@Component
+public class PointRateLimiter {
+
+    public static final String USER = "user";
+    public static final String GLOBAL = "global";
+
+    private final double userPermitsPerSecond;
+
+    private final int userBurst;
+
+    private final long idleEvictionNanos;
+
+    private final TokenBucket globalBucket;
+
+    private final PointMetrics pointMetrics;
+
+    private final ConcurrentHashMap<Long, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextEvictionAt;
+
+    public PointRateLimiter(
+            @Value("${point.rate-limit.user.permits-per-second}") double userPermitsPerSecond,
+            @Value("${point.rate-limit.user.burst}") int userBurst,
+            @Value("${point.rate-limit.global.permits-per-second}") double globalPermitsPerSecond,
+            @Value("${point.rate-limit.global.burst}") int globalBurst,
+            @Value("${point.rate-limit.idle-eviction-interval}") Duration idleEvictionInterval,
+            PointMetrics pointMetrics
+    ) {
+        if (userPermitsPerSecond <= 0 || userBurst < 1) {
+            throw new IllegalArgumentException("point.rate-limit.user 의 초당 토큰 수와 최대 토큰 수는 0 보다 커야 합니다.");
+        }
+        long now = System.nanoTime();
+        this.userPermitsPerSecond = userPermitsPerSecond;
+        this.userBurst = userBurst;
+        this.idleEvictionNanos = idleEvictionInterval.toNanos();
+        this.globalBucket = new TokenBucket(globalPermitsPerSecond, globalBurst, now);
+        this.pointMetrics = pointMetrics;
+        this.nextEvictionAt = new AtomicLong(now + idleEvictionNanos);
+        pointMetrics.gauge("point.rate.buckets", "유입 제한 중인 사용자 버킷 수", userBuckets, ConcurrentHashMap::size);
+    }
+
+    /**
+     * 요청 하나를 받아도 되는지 확인한다.
+     *  - 받으면 0 을, 거절하면 다시 시도하기까지 기다려야 하는 시간(ns)을 반환한다.
+     *  - userId 가 null 이면(사용자가 정해지지 않은 요청) 전체 버킷만 확인한다.
+     */
+    public long tryAcquire(Long userId) {
+        long now = System.nanoTime();
+        evictIdleBuckets(now);
+        if (userId != null) {
+            long wait = userBuckets.computeIfAbsent(userId, id -> new TokenBucket(userPermitsPerSecond, userBurst, now)).tryAcquire(now);
+            if (wait > 0) {
+                pointMetrics.countRateLimited(USER);
+                return wait;
+            }
+        }
+        long wait = globalBucket.tryAcquire(now);
+        if (wait > 0) {
+            pointMetrics.countRateLimited(GLOBAL);
+        }
+        return wait;
+    }
+
+    int size() {
+        return userBuckets.size();
+    }
+
+    // 주기가 된 요청 스레드 하나만 쉬고 있는 사용자 버킷을 제거한다.
+    private void evictIdleBuckets(long now) {
+        long evictionAt = nextEvictionAt.get();
+        if (now - evictionAt < 0 || !nextEvictionAt.compareAndSet(evictionAt, now + idleEvictionNanos)) {
+            return;
+        }
+        userBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 규칙 거절 사유
+ *  - 거절 지표(point.rejections)의 reason 태그 값이다. 거절 메시지를 바꿔도 태그 값은 바뀌지 않는다.
+ * - INVALID_AMOUNT : 충전/사용 포인트가 0보다 작음
+ * - CHARGE_LIMIT : 1회 최대 충전 포인트 초과
+ * - BALANCE_LIMIT : 사용자 최대 포인트 한도 초과
+ * - INSUFFICIENT_POINT : 포인트 부족
+ * - OTHER : 그 외 IllegalArgumentException
+ */
+public enum PointRejectionReason {
+    INVALID_AMOUNT, CHARGE_LIMIT, BALANCE_LIMIT, INSUFFICIENT_POINT, OTHER;
+
+    public static PointRejectionReason of(IllegalArgumentException e) {
+        return e instanceof PointRuleViolationException violation ? violation.reason() : OTHER;
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
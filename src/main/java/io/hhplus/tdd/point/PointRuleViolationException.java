@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+/**
+ * UserPoint 충전/사용 규칙 위반
+ *  - 다른 요청 거절과 같이 IllegalArgumentException 으로 처리되며, 지표 집계를 위한 거절 사유를 함께 담는다.
+ */
+public class PointRuleViolationException extends IllegalArgumentException {
+
+    private final PointRejectionReason reason;
+
+    public PointRuleViolationException(PointRejectionReason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public PointRejectionReason reason() {
+        return reason;
+    }
+}
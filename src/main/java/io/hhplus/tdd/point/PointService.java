@@ -1,46 +1,152 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class PointService {
 
-    private final UserPointTable userPointTable; // 유저 포인트 조회, 유저 포인트 삽입
+    private final UserPointCache userPointCache; // 유저 포인트 조회(캐시), 유저 포인트 삽입
 
-    private final PointHistoryTable pointHistoryTable; // 포인트 내역 쌓기, 이력 조회
+    private final PointHistoryWriter pointHistoryWriter; // 포인트 이력 조회
 
-    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
-        this.userPointTable = userPointTable;
-        this.pointHistoryTable = pointHistoryTable;
+    private final PointCommandExecutor pointCommandExecutor; // 사용자별 요청 직렬화 (사용자 락 + 요청 합치기 또는 파티션)
+
+    private final PointMetrics pointMetrics; // 서비스 호출 시간 계측
+
+    private final IdempotencyCache idempotencyCache; // Idempotency-Key 별 충전/사용 결과
+
+    private final int historyPageMaxSize; // 이력 페이지 조회 최대 건수
+
+    private final int historyStreamChunkSize; // 이력 순차 조회 시 한 번에 꺼내는 건수
+
+    public PointService(UserPointCache userPointCache, PointHistoryWriter pointHistoryWriter,
+                        PointCommandExecutor pointCommandExecutor, PointMetrics pointMetrics, IdempotencyCache idempotencyCache,
+                        @Value("${point.history.page.max-size}") int historyPageMaxSize,
+                        @Value("${point.history.stream.chunk-size}") int historyStreamChunkSize) {
+        this.userPointCache = userPointCache;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointCommandExecutor = pointCommandExecutor;
+        this.pointMetrics = pointMetrics;
+        this.idempotencyCache = idempotencyCache;
+        this.historyPageMaxSize = historyPageMaxSize;
+        this.historyStreamChunkSize = historyStreamChunkSize;
     }
 
     /**
      * 포인트 조회 서비스
+     *  - 캐시에 있으면 바로 반환하고, 없을 때만 사용자별 실행기(사용자 락 또는 파티션) 안에서 테이블을 읽어 캐시에 적재한다.
+     *    (변경과 같은 락으로 적재를 직렬화해 오래된 값이 캐시에 남지 않도록 한다.)
      * Exception 처리 항목
      *  1. userId가 음수인 경우
     */
     public UserPoint getUserPointById(Long userId) {
-        if(userId <= 0){
-            throw new IllegalArgumentException("userId는 음수일 수 없습니다.");
-        }
-        return userPointTable.selectById(userId);
-
+        return pointMetrics.recordService("get_point", () -> {
+            if(userId <= 0){
+                throw new IllegalArgumentException("userId는 음수일 수 없습니다.");
+            }
+            UserPoint cached = userPointCache.getIfPresent(userId);
+            if (cached != null) {
+                return cached;
+            }
+            return pointCommandExecutor.executeForUser(userId, () -> userPointCache.selectById(userId));
+        });
     }
 
     /**
      * 포인트 이력 조회 서비스
+     *  - 아직 테이블에 기록되지 않은 이력도 함께 조회된다.
      * Exception 처리 항목
      *  1. userId가 음수인 경우
      */
     public List<PointHistory> getUserHistoryById(Long userId) {
+        return pointMetrics.recordService("get_histories", () -> {
+            if(userId <= 0){
+                throw new IllegalArgumentException("userId는 음수일 수 없습니다.");
+            }
+            return pointHistoryWriter.selectAllByUserId(userId);
+        });
+    }
+
+    /**
+     * 포인트 이력 시각 구간 조회 서비스
+     *  - updateMillis 가 from 이상 to 이하인 이력을 시각 순서대로 반환한다. (아직 테이블에 기록되지 않은 이력은 뒤에 이어진다.)
+     * Exception 처리 항목
+     *  1. userId가 음수인 경우
+     *  2. from 이 음수인 경우
+     *  3. from 이 to 보다 늦은 경우
+     */
+    public List<PointHistory> getUserHistoryByTime(Long userId, long from, long to) {
+        return pointMetrics.recordService("get_histories_by_time", () -> {
+            if(userId <= 0){
+                throw new IllegalArgumentException("userId는 음수일 수 없습니다.");
+            }
+            if(from < 0){
+                throw new IllegalArgumentException("from은 음수일 수 없습니다.");
+            }
+            if(from > to){
+                throw new IllegalArgumentException("from은 to보다 늦을 수 없습니다.");
+            }
+            return pointHistoryWriter.selectByTimeRange(userId, from, to);
+        });
+    }
+
+    /**
+     * 포인트 이력 페이지 조회 서비스
+     *  - id 가 after 보다 큰 이력을 id 순서로 최대 limit 건 반환한다. (처음 요청은 after = 0)
+     *  - 테이블에 기록된 이력만 조회되며, 다음 페이지가 없으면 nextCursor 는 null 이다.
+     * Exception 처리 항목
+     *  1. userId가 음수인 경우
+     *  2. after 가 음수인 경우
+     *  3. limit 이 1 보다 작거나 최대 건수를 초과한 경우
+     */
+    public PointHistoryPage getUserHistoryPage(Long userId, long after, int limit) {
+        return pointMetrics.recordService("get_history_page", () -> {
+            if(userId <= 0){
+                throw new IllegalArgumentException("userId는 음수일 수 없습니다.");
+            }
+            if(after < 0){
+                throw new IllegalArgumentException("after는 음수일 수 없습니다.");
+            }
+            if(limit < 1 || limit > historyPageMaxSize){
+                throw new IllegalArgumentException("limit은 1 이상 " + historyPageMaxSize + " 이하여야 합니다.");
+            }
+            return pointHistoryWriter.selectPageByUserId(userId, after, limit);
+        });
+    }
+
+    /**
+     * 포인트 요약 조회 서비스
+     *  - 종류별 합계/건수와 처음/마지막 이력 시각을 반환한다. 이력을 다시 읽지 않고 기록할 때마다 갱신된 요약을 조회한다.
+     * Exception 처리 항목
+     *  1. userId가 음수인 경우
+     */
+    public PointSummary getUserPointSummary(Long userId) {
+        return pointMetrics.recordService("get_summary", () -> {
+            if(userId <= 0){
+                throw new IllegalArgumentException("userId는 음수일 수 없습니다.");
+            }
+            return pointHistoryWriter.selectSummaryByUserId(userId);
+        });
+    }
+
+    /**
+     * 포인트 이력 순차 조회 서비스
+     *  - 전체 이력 목록을 만들지 않고, 소비하는 만큼 나누어 조회하는 Stream 을 반환한다. (기록 대기 중인 이력 포함)
+     *  - 검증은 호출 시점에 바로 하고, 이력 조회는 Stream 을 소비할 때 일어난다.
+     * Exception 처리 항목
+     *  1. userId가 음수인 경우
+     */
+    public Stream<PointHistory> streamUserHistoryById(Long userId) {
         if(userId <= 0){
             throw new IllegalArgumentException("userId는 음수일 수 없습니다.");
         }
-        return pointHistoryTable.selectAllByUserId(userId);
+        return pointHistoryWriter.streamAllByUserId(userId, historyStreamChunkSize);
     }
 
     /**
@@ -49,20 +155,21 @@ public class PointService {
      *  1. 충전 포인트가 음수인 경우
      *  2. 1회 충전 포인트보다 더 많은 포인트를 충전할 경우 (1회 충전 제한: 100000)
      *  3. 최대 잔고가 넘었는데 더 충전을 하려고 하는 경우 (사용자 최대 포인트 한도: 1000000)
+     * 동시성 제어: 같은 사용자의 동시 요청은 한 번에 합쳐 처리한다. (PointCommandExecutor)
      */
-    public synchronized UserPoint chargeUserPoint(Long userId, Long amount) {
-        // 1. 사용자 조회(없으면 새로 생성)
-        UserPoint userPoint = userPointTable.selectById(userId);
-
-        // 2. 포인트 충전
-        Long updatedAmount = userPoint.chargePoint(amount);
-
-        // 3. 유저 테이블, 이력 테이블 업데이트
-        userPointTable.insertOrUpdate(userId, updatedAmount);
-        pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, System.currentTimeMillis());
-
-        return new UserPoint(userId, updatedAmount, System.currentTimeMillis());
+    public UserPoint chargeUserPoint(Long userId, Long amount) {
+        return chargeUserPoint(userId, amount, null);
+    }
 
+    /**
+     * 포인트 충전 서비스 (Idempotency-Key)
+     *  - 같은 idempotencyKey 로 이미 처리한 충전이면 다시 충전하지 않고 처음 결과를 반환한다. (IdempotencyCache)
+     *  - idempotencyKey 가 null 이면 chargeUserPoint(userId, amount) 와 같다.
+     */
+    public UserPoint chargeUserPoint(Long userId, Long amount, String idempotencyKey) {
+        PointCommand command = PointCommand.charge(userId, amount);
+        return pointMetrics.recordService("charge", () -> idempotencyCache.execute(idempotencyKey, command,
+                () -> toUserPoint(pointCommandExecutor.execute(command))));
     }
 
     /**
@@ -70,18 +177,50 @@ public class PointService {
      * Exception 처리 항목
      *  1. 사용 포인트가 음수인 경우
      *  2. 포인트가 부족한 경우 (잔고 부족)
+     * 동시성 제어: 같은 사용자의 동시 요청은 한 번에 합쳐 처리한다. (PointCommandExecutor)
      */
-    public synchronized UserPoint usePoint(Long userId, Long amount) {
-        // 1. 사용자 조회(없으면 새로 생성)
-        UserPoint userPoint = userPointTable.selectById(userId);
+    public UserPoint usePoint(Long userId, Long amount) {
+        return usePoint(userId, amount, null);
+    }
 
-        // 2. 포인트 사용
-        Long updatedAmount = userPoint.usePoint(amount);
+    /**
+     * 포인트 사용 서비스 (Idempotency-Key)
+     *  - 같은 idempotencyKey 로 이미 처리한 사용이면 다시 사용하지 않고 처음 결과를 반환한다. (IdempotencyCache)
+     *  - idempotencyKey 가 null 이면 usePoint(userId, amount) 와 같다.
+     */
+    public UserPoint usePoint(Long userId, Long amount, String idempotencyKey) {
+        PointCommand command = PointCommand.use(userId, amount);
+        return pointMetrics.recordService("use", () -> idempotencyCache.execute(idempotencyKey, command,
+                () -> toUserPoint(pointCommandExecutor.execute(command))));
+    }
 
-        // 3. 유저 테이블, 이력 테이블 업데이트
-        userPointTable.insertOrUpdate(userId, updatedAmount);
-        pointHistoryTable.insert(userId, amount, TransactionType.USE, System.currentTimeMillis());
+    /**
+     * 포인트 이체 서비스
+     *  - 보내는 사용자의 사용과 받는 사용자의 충전을 함께 반영한다. 둘 중 하나만 반영되는 경우는 없다.
+     *  - 두 사용자의 다른 요청과 겹치지 않도록 두 사용자를 모두 직렬화한 상태에서 처리한다. (PointCommandExecutor.transfer)
+     * Exception 처리 항목
+     *  1. userId가 음수인 경우
+     *  2. 보내는 사용자와 받는 사용자가 같은 경우
+     *  3. 보내는 사용자의 포인트가 부족하거나 받는 사용자의 충전 규칙에 어긋난 경우 (사용/충전 규칙과 같다.)
+     */
+    public PointTransferResult transferPoint(PointTransfer transfer) {
+        return pointMetrics.recordService("transfer", () -> {
+            if(transfer.fromUserId() <= 0 || transfer.toUserId() <= 0){
+                throw new IllegalArgumentException("userId는 음수일 수 없습니다.");
+            }
+            if(transfer.fromUserId() == transfer.toUserId()){
+                throw new IllegalArgumentException("같은 사용자에게 이체할 수 없습니다.");
+            }
+            List<PointCommandResult> results = pointCommandExecutor.transfer(transfer.fromUserId(), transfer.toUserId(), transfer.amount());
+            return new PointTransferResult(toUserPoint(results.get(0)), toUserPoint(results.get(1)));
+        });
+    }
 
-        return new UserPoint(userId, updatedAmount, System.currentTimeMillis());
+    // 거절된 요청은 거절 사유로 IllegalArgumentException 을 던진다.
+    private UserPoint toUserPoint(PointCommandResult result) {
+        if (!result.success()) {
+            throw new IllegalArgumentException(result.message());
+        }
+        return new UserPoint(result.userId(), result.point(), System.currentTimeMillis());
     }
 }
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용자별 포인트 이력 요약
+ *  - totalCharged / totalUsed: 종류별 이력 금액 합계
+ *  - chargeCount / useCount: 종류별 이력 수
+ *  - firstUpdateMillis / lastUpdateMillis: 가장 이른/늦은 이력 시각 (이력이 없으면 0)
+ *  - 기록 대기 중인 이력도 포함하므로 같은 시점의 이력 조회 결과와 일치한다.
+ */
+public record PointSummary(
+        long userId,
+        long totalCharged,
+        long totalUsed,
+        long chargeCount,
+        long useCount,
+        long firstUpdateMillis,
+        long lastUpdateMillis
+) {
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청
+ *  - fromUserId 의 포인트를 amount 만큼 사용하고, 같은 금액을 toUserId 에 충전한다.
+ */
+public record PointTransfer(
+        long fromUserId,
+        long toUserId,
+        long amount
+) {
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 결과
+ *  - from / to: 이체를 반영한 뒤 보내는 사용자와 받는 사용자의 포인트
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to
+) {
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 포인트 응답 형식 설정
+ *  - PointBinaryHttpMessageConverter 를 기본 변환기들 뒤에 추가한다. Accept 가 없거나 모든 형식을 허용하면 지금처럼 JSON 으로 응답하고,
+ *    application/vnd.hhplus.point 를 요청한 경우에만 바이너리로 응답한다.
+ *    (HttpMessageConverter 빈으로 등록하면 Spring Boot 가 JSON 앞에 두어 기본 응답이 바뀌므로 빈으로 등록하지 않는다.)
+ */
+@Configuration
+public class PointWireFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PointBinaryHttpMessageConverter());
+    }
+}
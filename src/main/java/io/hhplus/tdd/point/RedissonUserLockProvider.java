@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point;
+
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 사용자 락 (Redisson)
+ *  - 여러 서버가 같은 Redis 를 사용하면 서버가 달라도 같은 사용자의 요청은 하나씩 처리된다.
+ *  - 락은 leaseTime 이 지나면 자동으로 풀린다. (보유 서버가 멈추거나 죽어도 다른 서버가 이어서 처리)
+ *  - fencing token 은 락을 얻은 뒤 사용자별 RAtomicLong 을 증가시켜 발급한다. 락 안에서 증가시키므로 락을 얻은 순서대로 커진다.
+ */
+public class RedissonUserLockProvider implements UserLockProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonUserLockProvider.class);
+
+    private static final String LOCK_KEY_PREFIX = "point:user-lock:";
+    private static final String FENCING_TOKEN_KEY_PREFIX = "point:user-lock-fencing-token:";
+
+    private final RedissonClient redissonClient;
+
+    private final Duration leaseTime;
+
+    public RedissonUserLockProvider(RedissonClient redissonClient, Duration leaseTime) {
+        this.redissonClient = redissonClient;
+        this.leaseTime = leaseTime;
+    }
+
+    @Override
+    public Lease acquire(long userId) {
+        RLock lock = redissonClient.getLock(LOCK_KEY_PREFIX + userId);
+        lock.lock(leaseTime.toMillis(), TimeUnit.MILLISECONDS);
+        long fencingToken;
+        try {
+            fencingToken = redissonClient.getAtomicLong(FENCING_TOKEN_KEY_PREFIX + userId).incrementAndGet();
+        } catch (RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+        return new Lease() {
+            @Override
+            public long fencingToken() {
+                return fencingToken;
+            }
+
+            @Override
+            public void close() {
+                try {
+                    lock.unlock();
+                } catch (IllegalMonitorStateException e) {
+                    // lease 가 만료되어 이미 풀렸다. 이후의 저장은 fencing token 으로 거절된다.
+                    log.warn("사용자 락의 lease 가 해제 전에 만료되었습니다. userId={}, fencingToken={}", userId, fencingToken);
+                }
+            }
+        };
+    }
+
+    public void close() {
+        redissonClient.shutdown();
+    }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 원격 락 서버를 흉내 낸 JVM 안의 사용자 락 (테스트용)
+ *  - 한 인스턴스를 여러 PointService(노드)가 함께 사용하면, 노드들이 같은 원격 락 서버를 공유하는 상황이 된다.
+ *  - 락 획득/해제마다 latency 만큼 지연해 네트워크 왕복을 흉내 내고, 락이 풀리기를 기다릴 때도 latency 간격으로 다시 요청한다.
+ *  - 락은 leaseTime 이 지나면 보유자가 해제하지 않아도 풀린다. 이후 다른 노드가 더 큰 fencing token 으로 락을 얻는다.
+ */
+public class SimulatedRemoteUserLockProvider implements UserLockProvider {
+
+    private static final long MIN_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long latencyNanos;
+
+    private final long leaseNanos;
+
+    private final ConcurrentHashMap<Long, Holder> holders = new ConcurrentHashMap<>();
+
+    private final AtomicLong fencingTokens = new AtomicLong();
+
+    public SimulatedRemoteUserLockProvider(Duration latency, Duration leaseTime) {
+        this.latencyNanos = latency.toNanos();
+        this.leaseNanos = leaseTime.toNanos();
+    }
+
+    @Override
+    public Lease acquire(long userId) {
+        while (true) {
+            pause(latencyNanos); // 락 요청 왕복
+            long now = System.nanoTime();
+            Holder[] acquired = new Holder[1];
+            holders.compute(userId, (id, holder) -> {
+                if (holder != null && holder.expiresAt - now > 0) {
+                    return holder; // 다른 노드가 보유 중
+                }
+                acquired[0] = new Holder(fencingTokens.incrementAndGet(), now + leaseNanos);
+                return acquired[0];
+            });
+            if (acquired[0] != null) {
+                return lease(userId, acquired[0]);
+            }
+            pause(Math.max(latencyNanos, MIN_RETRY_NANOS)); // 다시 요청하기 전 대기
+        }
+    }
+
+    private Lease lease(long userId, Holder holder) {
+        return new Lease() {
+            @Override
+            public long fencingToken() {
+                return holder.fencingToken;
+            }
+
+            @Override
+            public void close() {
+                pause(latencyNanos); // 해제 요청 왕복
+                holders.remove(userId, holder); // 만료되어 다른 노드가 얻은 락은 건드리지 않는다.
+            }
+        };
+    }
+
+    private static void pause(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Holder(
+            long fencingToken,
+            long expiresAt // System.nanoTime 기준
+    ) {
+    }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷
+ *  - 초당 permitsPerSecond 개씩 채워지고 최대 burst 개까지 쌓이는 토큰 버킷과 같게 동작한다.
+ *  - 남은 토큰 수 대신 "버킷이 가득 차는 시각"(theoretical arrival time) 하나만 AtomicLong 에 두고 CAS 로 갱신한다. (GCRA)
+ *    요청 하나는 이 시각을 토큰 한 개 만큼(interval) 뒤로 미루며, 미룬 시각이 현재보다 burst 개 만큼 넘게 앞서면 거절한다.
+ *  - 가득 차는 시각이 지난 버킷은 토큰이 가득 찬 새 버킷과 같으므로 버려도 된다. (isIdle)
+ *  - 시각은 System.nanoTime 기준이다.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos; // 토큰 하나가 채워지는 시간
+
+    private final long capacityNanos; // 토큰 burst 개가 채워지는 시간
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(double permitsPerSecond, int burst, long now) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("토큰 버킷의 초당 토큰 수와 최대 토큰 수는 0 보다 커야 합니다.");
+        }
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    // 토큰을 하나 얻으면 0 을, 부족하면 다음 토큰이 채워질 때까지 남은 시간(ns)을 반환한다.
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long overflow = next - now - capacityNanos;
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    boolean isIdle(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 락 관리
+ *  - 같은 사용자의 요청만 직렬화하고, 다른 사용자의 요청은 서로를 기다리지 않는다.
+ *  - 락은 UserLockProvider 에서 얻는다. (JVM 안의 락 또는 여러 서버가 공유하는 원격 락)
+ *  - 락을 얻을 때 발급된 fencing token 을 action 에 넘겨 저장 시 함께 전달할 수 있게 한다.
+ *  - 두 사용자의 락이 필요하면 항상 userId 가 작은 쪽부터 얻는다. 모든 호출이 같은 순서로 락을 얻으므로
+ *    겹치는 사용자끼리 동시에 요청해도 서로를 기다리며 멈추지(교착) 않는다.
+ *  - 락 대기 시간과 보유 시간을 따로 기록한다. (PointMetrics)
+ */
+@Component
+public class UserLockManager {
+
+    private final UserLockProvider userLockProvider;
+
+    private final PointMetrics pointMetrics;
+
+    public UserLockManager(UserLockProvider userLockProvider, PointMetrics pointMetrics) {
+        this.userLockProvider = userLockProvider;
+        this.pointMetrics = pointMetrics;
+    }
+
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        return executeWithLock(userId, fencingToken -> action.get());
+    }
+
+    // action 은 락을 얻을 때 발급된 fencing token 을 받는다.
+    public <T> T executeWithLock(long userId, LongFunction<T> action) {
+        long requested = System.nanoTime();
+        UserLockProvider.Lease lease = userLockProvider.acquire(userId);
+        long acquired = System.nanoTime();
+        pointMetrics.recordLockWait(acquired - requested);
+        try {
+            return action.apply(lease.fencingToken());
+        } finally {
+            lease.close();
+            pointMetrics.recordLockHold(System.nanoTime() - acquired);
+        }
+    }
+
+    // 두 사용자의 락을 userId 순서로 얻은 뒤 action 을 실행한다. action 은 userId, otherUserId 순서로 fencing token 을 받는다.
+    public <T> T executeWithLocks(long userId, long otherUserId, PairAction<T> action) {
+        if (userId == otherUserId) {
+            throw new IllegalArgumentException("서로 다른 두 사용자의 락만 함께 얻을 수 있습니다.");
+        }
+        if (userId < otherUserId) {
+            return executeWithLock(userId, fencingToken -> executeWithLock(otherUserId, otherFencingToken -> action.apply(fencingToken, otherFencingToken)));
+        }
+        return executeWithLock(otherUserId, otherFencingToken -> executeWithLock(userId, fencingToken -> action.apply(fencingToken, otherFencingToken)));
+    }
+
+    @FunctionalInterface
+    public interface PairAction<T> {
+        T apply(long fencingToken, long otherFencingToken);
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 사용자 락 제공자 (UserLockManager 가 사용하는 SPI)
+ *  - 구현은 point.lock.provider 로 고른다. (UserLockProviderConfig)
+ *    local: JVM 안의 공정 ReentrantLock (LocalUserLockProvider, 기본값, 서버 한 대)
+ *    redisson: Redis 락 (RedissonUserLockProvider, 여러 서버가 같은 사용자 락을 공유)
+ *    simulated: 원격 락의 왕복 지연과 lease 만료를 JVM 안에서 흉내 낸 락 (SimulatedRemoteUserLockProvider, 테스트용)
+ *  - 락을 얻을 때마다 이전보다 큰 fencing token 을 발급한다. 저장소는 더 작은 token 의 저장을 거절해
+ *    lease 가 만료된 뒤 늦게 도착한 저장을 막는다. (FencedUserPointStore)
+ */
+public interface UserLockProvider {
+
+    // userId 의 락을 얻을 때까지 대기하고, 락을 보유하는 동안 사용할 lease 를 반환한다.
+    Lease acquire(long userId);
+
+    interface Lease extends AutoCloseable {
+
+        long fencingToken();
+
+        // 락을 해제한다. lease 가 이미 만료되었다면 아무것도 하지 않는다.
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point;
+
+import org.redisson.Redisson;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 사용자 락 제공자 설정
+ *  - point.lock.provider 로 UserLockManager 가 사용할 락을 고른다.
+ *    local: JVM 안의 락 (LocalUserLockProvider, 기본값)
+ *    redisson: Redis 락 (RedissonUserLockProvider, point.lock.redisson.address 의 Redis 에 연결)
+ *    simulated: 원격 락을 흉내 낸 JVM 안의 락 (SimulatedRemoteUserLockProvider)
+ *  - 여러 서버에서 실행할 때는 redisson 을 사용하고, 서버마다 캐시가 어긋나지 않도록 point.cache.max-size 를 0 으로 둔다.
+ */
+@Configuration
+public class UserLockProviderConfig {
+
+    @Bean
+    public UserLockProvider userLockProvider(
+            @Value("${point.lock.provider}") String provider,
+            @Value("${point.lock.lease-time}") Duration leaseTime,
+            @Value("${point.lock.redisson.address}") String redissonAddress,
+            @Value("${point.lock.simulated.latency}") Duration simulatedLatency
+    ) {
+        return switch (provider) {
+            case "local" -> new LocalUserLockProvider();
+            case "redisson" -> {
+                Config config = new Config();
+                config.useSingleServer().setAddress(redissonAddress);
+                yield new RedissonUserLockProvider(Redisson.create(config), leaseTime);
+            }
+            case "simulated" -> new SimulatedRemoteUserLockProvider(simulatedLatency, leaseTime);
+            default -> throw new IllegalArgumentException("지원하지 않는 point.lock.provider 입니다: " + provider);
+        };
+    }
+}
@@ -2,27 +2,40 @@ package io.hhplus.tdd.point;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 사용자 포인트
+ *  - version 은 버전 비교 저장소(VersionedUserPointStore)가 저장할 때마다 올리는 값이며, 그 외 저장소에서는 0 이다.
+ */
 public record UserPoint(
         long id,
         long point,
-        long updateMillis
+        long updateMillis,
+        long version
 ) {
 
+    public UserPoint(long id, long point, long updateMillis) {
+        this(id, point, updateMillis, 0L);
+    }
+
     public static UserPoint empty(long id) {
         return new UserPoint(id, 0, System.currentTimeMillis());
     }
 
+    public UserPoint withVersion(long version) {
+        return new UserPoint(id, point, updateMillis, version);
+    }
+
     // 포인트 충전 비즈니스 로직
     public long chargePoint(Long amount){
         if(amount < 0){
-            throw new IllegalArgumentException("충전할 포인트는 0보다 커야 합니다.");
+            throw new PointRuleViolationException(PointRejectionReason.INVALID_AMOUNT, "충전할 포인트는 0보다 커야 합니다.");
         }
         if(amount > 100000){
-            throw new IllegalArgumentException("1회 최대 충전 포인트는 100000점 입니다.");
+            throw new PointRuleViolationException(PointRejectionReason.CHARGE_LIMIT, "1회 최대 충전 포인트는 100000점 입니다.");
         }
         long updatedAmount = this.point + amount;
         if(updatedAmount > 1000000){
-            throw new IllegalArgumentException("사용자 최대 포인트 한도(1000000점)를 초과하였습니다.");
+            throw new PointRuleViolationException(PointRejectionReason.BALANCE_LIMIT, "사용자 최대 포인트 한도(1000000점)를 초과하였습니다.");
         }
 
         return updatedAmount;
@@ -31,10 +44,10 @@ public record UserPoint(
     // 포인트 사용 비즈니스 로직 (계산식)
     public Long usePoint(Long amount){
         if(amount < 0){
-            throw new IllegalArgumentException("사용할 포인트는 0보다 커야 합니다.");
+            throw new PointRuleViolationException(PointRejectionReason.INVALID_AMOUNT, "사용할 포인트는 0보다 커야 합니다.");
         }
         if(this.point < amount){
-            throw new IllegalArgumentException("포인트가 부족합니다.");
+            throw new PointRuleViolationException(PointRejectionReason.INSUFFICIENT_POINT, "포인트가 부족합니다.");
         }
         long updatedAmount = this.point - amount;
 
@@ -0,0 +1,129 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("스냅샷 + WAL 사용자 포인트 저장소 테스트")
+public class DurableUserPointStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("스냅샷이 없어도 WAL 로 마지막에 저장된 포인트가 복원된다.")
+    void recover_FromWal_WhenNoSnapshot() throws IOException {
+        DurableUserPointStore store = store();
+        store.insertOrUpdate(1L, 100L);
+        store.insertOrUpdate(2L, 200L);
+        store.insertOrUpdate(1L, 150L);
+        store.close();
+
+        DurableUserPointStore restarted = store();
+
+        assertThat(restarted.selectById(1L).point()).isEqualTo(150L);
+        assertThat(restarted.selectById(2L).point()).isEqualTo(200L);
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷 이전의 WAL 은 지워지고, 재시작 시 스냅샷과 이후의 WAL 만으로 복원된다.")
+    void recover_FromSnapshotAndWalTail() throws IOException {
+        DurableUserPointStore store = store();
+        store.insertOrUpdate(1L, 100L);
+        store.insertOrUpdate(2L, 200L);
+        DurableUserPointStore.SnapshotResult result = store.snapshot();
+        store.insertOrUpdate(1L, 300L);
+        store.insertOrUpdate(3L, 400L);
+        store.close();
+
+        DurableUserPointStore restarted = store();
+
+        assertThat(result.count()).isEqualTo(2);
+        assertThat(files("snapshot-")).hasSize(1);
+        assertThat(files("wal-")).allMatch(wal -> wal.getFileName().toString().compareTo("wal-00000000000000000002.log") >= 0);
+        assertThat(restarted.size()).isEqualTo(3);
+        assertThat(restarted.selectById(1L).point()).isEqualTo(300L);
+        assertThat(restarted.selectById(2L).point()).isEqualTo(200L);
+        assertThat(restarted.selectById(3L).point()).isEqualTo(400L);
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("WAL 끝의 쓰다 만 레코드는 잘라내고 그 앞까지 복원한다.")
+    void recover_IgnoresTornWalRecord() throws IOException {
+        DurableUserPointStore store = store();
+        store.insertOrUpdate(1L, 100L);
+        store.close();
+        Path lastWal = files("wal-").get(files("wal-").size() - 1);
+        Files.write(lastWal, new byte[]{1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        DurableUserPointStore restarted = store();
+        restarted.insertOrUpdate(2L, 200L);
+        restarted.close();
+        DurableUserPointStore restartedAgain = store();
+
+        assertThat(restartedAgain.selectById(1L).point()).isEqualTo(100L);
+        assertThat(restartedAgain.selectById(2L).point()).isEqualTo(200L);
+        restartedAgain.close();
+    }
+
+    @Test
+    @DisplayName("주기적인 스냅샷은 생성 시점이 아닌 start() 이후에 뜬다.")
+    void start_SchedulesSnapshot_AfterConstruction() throws IOException, InterruptedException {
+        DurableUserPointStore store = new DurableUserPointStore(new MemoryUserPointStore(), directory, Duration.ofMillis(50), Duration.ZERO);
+        store.insertOrUpdate(1L, 100L);
+        Thread.sleep(200);
+        List<Path> beforeStart = files("snapshot-");
+
+        store.start();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (files("snapshot-").isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        store.close();
+
+        assertThat(beforeStart).isEmpty();
+        assertThat(files("snapshot-")).hasSize(1);
+    }
+
+    // 재시작할 때마다 비어 있는 원래 저장소를 사용한다. (UserPointTable 처럼 메모리에만 있는 저장소)
+    private DurableUserPointStore store() {
+        return new DurableUserPointStore(new MemoryUserPointStore(), directory, Duration.ZERO, Duration.ZERO);
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    private static final class MemoryUserPointStore implements UserPointStore {
+        private final Map<Long, UserPoint> table = new HashMap<>();
+
+        @Override
+        public UserPoint selectById(long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+            table.put(id, userPoint);
+            return userPoint;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("primitive 배열 포인트 맵 테스트")
+public class LongPointMapTest {
+
+    @Test
+    @DisplayName("처음 확보한 크기를 넘어 늘어나도 저장한 값이 그대로 조회되고, 0 과 음수 id 도 저장된다.")
+    void put_KeepsAllEntries_WhenResized(){
+        LongPointMap map = new LongPointMap(4, 8);
+
+        for (long id = -10; id <= 10_000; id++) {
+            map.put(id, id * 2, id * 3);
+        }
+        map.put(5L, 500L, 501L);
+
+        assertThat(map.size()).isEqualTo(10_011);
+        assertThat(map.get(0L)).isEqualTo(new UserPoint(0L, 0L, 0L));
+        assertThat(map.get(-10L)).isEqualTo(new UserPoint(-10L, -20L, -30L));
+        assertThat(map.get(5L)).isEqualTo(new UserPoint(5L, 500L, 501L));
+        assertThat(map.get(9_999L)).isEqualTo(new UserPoint(9_999L, 19_998L, 29_997L));
+        assertThat(map.get(10_001L)).isNull();
+    }
+
+    @Test
+    @DisplayName("저장과 배열 확장이 동시에 일어나도 조회는 한 번에 저장된 값(point, updateMillis)을 섞이지 않게 읽는다.")
+    void get_NeverReadsTornValues_WhenWrittenConcurrently() throws InterruptedException {
+        LongPointMap map = new LongPointMap(4, 8);
+        int threadCount = 8;
+        AtomicInteger tornReads = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            boolean writer = i % 2 == 0;
+            executorService.submit(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int n = 0; n < 200_000; n++) {
+                        long id = random.nextLong(1, 50_000);
+                        if (writer) {
+                            long value = random.nextLong();
+                            map.put(id, value, value);
+                        } else {
+                            UserPoint userPoint = map.get(id);
+                            if (userPoint != null && userPoint.point() != userPoint.updateMillis()) {
+                                tornReads.incrementAndGet();
+                            }
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        assertThat(latch.getCount()).isZero();
+        assertThat(tornReads.get()).isZero();
+    }
+}
@@ -0,0 +1,78 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("열 단위 포인트 이력 저장 테스트")
+public class PointHistoryColumnsTest {
+
+    private static final long USER_ID = 1L;
+
+    @Test
+    @DisplayName("조각 경계를 넘어 저장해도 저장한 순서와 값 그대로 조회된다.")
+    void copyTo_ReturnsSameHistories_AcrossChunks(){
+        PointHistoryColumns columns = new PointHistoryColumns(USER_ID);
+        List<PointHistory> expected = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            PointHistory pointHistory = new PointHistory(id, USER_ID, id * 10, id % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE, id * 100);
+            columns.add(pointHistory);
+            expected.add(pointHistory);
+        }
+
+        List<PointHistory> all = new ArrayList<>();
+        columns.copyTo(all, 0, columns.size());
+        List<PointHistory> range = new ArrayList<>();
+        columns.copyTo(range, 4_000, 8_200);
+
+        assertThat(all).isEqualTo(expected);
+        assertThat(range).isEqualTo(expected.subList(4_000, 8_200));
+        assertThat(columns.get(4_096)).isEqualTo(expected.get(4_096));
+        assertThat(columns.lastId()).isEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("id 커서보다 큰 첫 이력의 위치를 찾는다.")
+    void firstIndexAfter_FindsFirstGreaterId(){
+        PointHistoryColumns columns = new PointHistoryColumns(USER_ID);
+        for (long id = 2; id <= 20_000; id += 2) {
+            columns.add(new PointHistory(id, USER_ID, 100L, TransactionType.CHARGE, id));
+        }
+
+        assertThat(columns.firstIndexAfter(0L)).isZero();
+        assertThat(columns.firstIndexAfter(2L)).isEqualTo(1);
+        assertThat(columns.firstIndexAfter(9_001L)).isEqualTo(4_500);
+        assertThat(columns.firstIndexAfter(20_000L)).isEqualTo(columns.size());
+    }
+
+    @Test
+    @DisplayName("시각 구간 조회는 저장 순서와 관계없이 구간 안의 이력만 시각 순서대로 반환한다.")
+    void copyByTimeTo_ReturnsRangeInTimeOrder(){
+        PointHistoryColumns inOrder = new PointHistoryColumns(USER_ID);
+        PointHistoryColumns outOfOrder = new PointHistoryColumns(USER_ID);
+        for (long id = 1; id <= 10_000; id++) {
+            inOrder.add(new PointHistory(id, USER_ID, 100L, TransactionType.CHARGE, id * 10));
+            // 두 건 중 한 건은 앞선 이력보다 이른 시각으로 추가한다.
+            outOfOrder.add(new PointHistory(id, USER_ID, 100L, TransactionType.CHARGE, id % 2 == 0 ? id * 10 : 100_000 - id * 10));
+        }
+
+        List<PointHistory> inOrderRange = new ArrayList<>();
+        inOrder.copyByTimeTo(inOrderRange, 40_000L, 40_100L);
+        List<PointHistory> outOfOrderRange = new ArrayList<>();
+        outOfOrder.copyByTimeTo(outOfOrderRange, 40_000L, 40_100L);
+        List<PointHistory> empty = new ArrayList<>();
+        outOfOrder.copyByTimeTo(empty, 200_000L, Long.MAX_VALUE);
+
+        assertThat(inOrderRange).extracting(PointHistory::id).containsExactly(4_000L, 4_001L, 4_002L, 4_003L, 4_004L, 4_005L, 4_006L, 4_007L, 4_008L, 4_009L, 4_010L);
+        assertThat(outOfOrderRange).extracting(PointHistory::updateMillis).isSorted().hasSize(11)
+                .allSatisfy(updateMillis -> assertThat(updateMillis).isBetween(40_000L, 40_100L));
+        assertThat(outOfOrderRange).extracting(PointHistory::id).contains(4_000L, 4_010L, 5_991L, 5_999L);
+        assertThat(empty).isEmpty();
+    }
+}
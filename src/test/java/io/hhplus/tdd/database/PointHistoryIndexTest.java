@@ -0,0 +1,120 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("사용자별 포인트 이력 색인 테스트")
+public class PointHistoryIndexTest {
+
+    private static final long USER_ID = 1L;
+
+    private final PointHistoryIndex pointHistoryIndex = new PointHistoryIndex();
+
+    @Test
+    @DisplayName("테이블 적재는 사용자별로 한 번만 일어나고 이후에는 색인으로 응답한다.")
+    void findAllByUserId_LoadsTableOnlyOnce(){
+        AtomicInteger loadCount = new AtomicInteger();
+        List<PointHistory> table = List.of(history(1L, 100L));
+
+        pointHistoryIndex.findAllByUserId(USER_ID, () -> { loadCount.incrementAndGet(); return table; });
+        List<PointHistory> result = pointHistoryIndex.findAllByUserId(USER_ID, () -> { loadCount.incrementAndGet(); return table; });
+
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(result).containsExactly(history(1L, 100L));
+    }
+
+    @Test
+    @DisplayName("적재 전에 색인에 반영된 이력과 테이블 이력이 중복 없이 id 순서로 합쳐진다.")
+    void findAllByUserId_MergesWithoutDuplicates_WhenWrittenBeforeLoad(){
+        PointHistory pending = new PointHistory(0L, USER_ID, 200L, TransactionType.CHARGE, 2L);
+        pointHistoryIndex.addPending(pending);
+        pointHistoryIndex.promote(pending, history(2L, 200L));
+
+        List<PointHistory> result = pointHistoryIndex.findAllByUserId(USER_ID, () -> List.of(history(1L, 100L), history(2L, 200L)));
+
+        assertThat(result).extracting(PointHistory::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("기록 대기 중인 이력은 기록된 이력 뒤에 조회되고, 기록되면 id 가 발급된 이력으로 교체된다.")
+    void findAllByUserId_ReturnsPendingAfterWritten(){
+        pointHistoryIndex.findAllByUserId(USER_ID, () -> List.of(history(1L, 100L)));
+        PointHistory pending = new PointHistory(0L, USER_ID, 300L, TransactionType.USE, 3L);
+
+        pointHistoryIndex.addPending(pending);
+        List<PointHistory> beforeWritten = pointHistoryIndex.findAllByUserId(USER_ID, List::of);
+        pointHistoryIndex.promote(pending, new PointHistory(2L, USER_ID, 300L, TransactionType.USE, 3L));
+        List<PointHistory> afterWritten = pointHistoryIndex.findAllByUserId(USER_ID, List::of);
+
+        assertThat(beforeWritten).extracting(PointHistory::id).containsExactly(1L, 0L);
+        assertThat(afterWritten).extracting(PointHistory::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("id 커서 다음 이력부터 limit 건씩 조회되고, 마지막 페이지의 nextCursor 는 null 이다.")
+    void findPageByUserId_ReturnsPagesByCursor(){
+        List<PointHistory> table = List.of(history(1L, 100L), history(3L, 300L), history(5L, 500L));
+
+        PointHistoryPage first = pointHistoryIndex.findPageByUserId(USER_ID, 0L, 2, false, () -> table);
+        PointHistoryPage last = pointHistoryIndex.findPageByUserId(USER_ID, first.nextCursor(), 2, false, () -> table);
+
+        assertThat(first.items()).extracting(PointHistory::id).containsExactly(1L, 3L);
+        assertThat(first.nextCursor()).isEqualTo(3L);
+        assertThat(last.items()).extracting(PointHistory::id).containsExactly(5L);
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("기록 대기 중인 이력은 includePending 인 경우에만 마지막 페이지에 이어진다.")
+    void findPageByUserId_AppendsPendingToLastPage_WhenIncludePending(){
+        pointHistoryIndex.findAllByUserId(USER_ID, () -> List.of(history(1L, 100L)));
+        pointHistoryIndex.addPending(new PointHistory(0L, USER_ID, 300L, TransactionType.USE, 3L));
+
+        PointHistoryPage withoutPending = pointHistoryIndex.findPageByUserId(USER_ID, 0L, 10, false, List::of);
+        PointHistoryPage withPending = pointHistoryIndex.findPageByUserId(USER_ID, 0L, 10, true, List::of);
+
+        assertThat(withoutPending.items()).extracting(PointHistory::id).containsExactly(1L);
+        assertThat(withPending.items()).extracting(PointHistory::id).containsExactly(1L, 0L);
+    }
+
+    @Test
+    @DisplayName("요약은 테이블 이력, 적재 전에 기록된 이력, 기록 대기 중인 이력을 중복 없이 합산한다.")
+    void findSummaryByUserId_MatchesHistory_WhenMergedWithTable(){
+        PointHistory written = new PointHistory(0L, USER_ID, 200L, TransactionType.CHARGE, 2L);
+        pointHistoryIndex.addPending(written);
+        pointHistoryIndex.promote(written, history(2L, 200L));
+        pointHistoryIndex.addPending(new PointHistory(0L, USER_ID, 50L, TransactionType.USE, 3L));
+
+        PointSummary summary = pointHistoryIndex.findSummaryByUserId(USER_ID, () -> List.of(history(1L, 100L), history(2L, 200L)));
+
+        assertThat(summary).isEqualTo(new PointSummary(USER_ID, 300L, 50L, 2L, 1L, 1L, 3L));
+    }
+
+    @Test
+    @DisplayName("테이블 기록에 실패한 이력은 요약에서도 빠진다.")
+    void findSummaryByUserId_ExcludesHistory_WhenWriteFailed(){
+        pointHistoryIndex.findAllByUserId(USER_ID, () -> List.of(history(1L, 100L)));
+        PointHistory failed = new PointHistory(0L, USER_ID, 30L, TransactionType.USE, 5L);
+        pointHistoryIndex.addPending(failed);
+
+        PointSummary beforeFailed = pointHistoryIndex.findSummaryByUserId(USER_ID, List::of);
+        pointHistoryIndex.promote(failed, null);
+        PointSummary afterFailed = pointHistoryIndex.findSummaryByUserId(USER_ID, List::of);
+
+        assertThat(beforeFailed).isEqualTo(new PointSummary(USER_ID, 100L, 30L, 1L, 1L, 1L, 5L));
+        assertThat(afterFailed).isEqualTo(new PointSummary(USER_ID, 100L, 0L, 1L, 0L, 1L, 1L));
+    }
+
+    private PointHistory history(long id, long amount) {
+        return new PointHistory(id, USER_ID, amount, TransactionType.CHARGE, id);
+    }
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("포인트 이력 저널 테스트")
+public class PointHistoryJournalTest {
+
+    private static final long USER_ID = 1L;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("기록한 이력은 세그먼트가 넘어가도 재시작 후 기록 순서대로 복원된다.")
+    void replay_RestoresHistoryAcrossSegments() throws IOException {
+        PointHistoryJournal journal = journal();
+        journal.replay(pointHistory -> {});
+        for (long id = 1; id <= 7; id++) {
+            journal.append(history(id));
+        }
+        journal.close();
+
+        PointHistoryJournal reopened = journal();
+        List<PointHistory> restored = new ArrayList<>();
+        long lastId = reopened.replay(restored::add);
+        reopened.close();
+
+        assertThat(segmentCount()).isEqualTo(3);
+        assertThat(restored).extracting(PointHistory::id).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(restored.get(6)).isEqualTo(history(7L));
+        assertThat(lastId).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("쓰다 만 마지막 레코드는 복원하지 않고, 그 위치부터 이어 쓴다.")
+    void replay_StopsAtTornRecord() throws IOException {
+        PointHistoryJournal journal = journal();
+        journal.replay(pointHistory -> {});
+        journal.append(history(1L));
+        journal.append(history(2L));
+        journal.close();
+        corruptByte(lastSegment(), PointHistoryJournal.RECORD_SIZE + 10);
+
+        PointHistoryJournal reopened = journal();
+        List<PointHistory> restored = new ArrayList<>();
+        reopened.replay(restored::add);
+        reopened.append(history(3L));
+        reopened.close();
+
+        PointHistoryJournal afterAppendJournal = journal();
+        List<PointHistory> afterAppend = new ArrayList<>();
+        afterAppendJournal.replay(afterAppend::add);
+        afterAppendJournal.close();
+        assertThat(restored).extracting(PointHistory::id).containsExactly(1L);
+        assertThat(afterAppend).extracting(PointHistory::id).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("재시작한 기록기는 저널의 이력을 조회하고, 새 이력의 id 는 복원한 마지막 id 다음부터 발급된다.")
+    void pointHistoryWriter_RestoresHistory_WhenRestarted() throws Exception {
+        PointHistoryJournal journal = journal();
+        PointHistoryWriter writer = writer(journal);
+        writer.append(USER_ID, 100L, TransactionType.CHARGE, 1L);
+        writer.append(USER_ID, 50L, TransactionType.USE, 2L);
+        writer.flush();
+        writer.close();
+        journal.close();
+
+        PointHistoryJournal restartedJournal = journal();
+        PointHistoryWriter restarted = writer(restartedJournal);
+        restarted.append(USER_ID, 30L, TransactionType.CHARGE, 3L);
+        restarted.flush();
+        List<PointHistory> result = restarted.selectAllByUserId(USER_ID);
+        PointSummary summary = restarted.selectSummaryByUserId(USER_ID);
+        restarted.close();
+        restartedJournal.close();
+
+        assertThat(result).extracting(PointHistory::amount).containsExactly(100L, 50L, 30L);
+        assertThat(result).extracting(PointHistory::id).containsExactly(1L, 2L, 3L);
+        assertThat(summary).isEqualTo(new PointSummary(USER_ID, 130L, 50L, 2L, 1L, 1L, 3L));
+    }
+
+    // 세그먼트 하나에 레코드 3건
+    private PointHistoryJournal journal() {
+        return new PointHistoryJournal(true, directory, DataSize.ofBytes(PointHistoryJournal.RECORD_SIZE * 3L), Duration.ofMillis(10));
+    }
+
+    private PointHistoryWriter writer(PointHistoryJournal journal) {
+        return PointHistoryWriters.journaled(journal, 100, 10, new PointMetrics(new SimpleMeterRegistry()));
+    }
+
+    private PointHistory history(long id) {
+        return new PointHistory(id, USER_ID, id * 100, id % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, id);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().reduce((first, second) -> second).orElseThrow();
+        }
+    }
+
+    private void corruptByte(Path file, long position) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.seek(position);
+            int value = randomAccessFile.read();
+            randomAccessFile.seek(position);
+            randomAccessFile.write(value ^ 0xFF);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("포인트 이력 비동기 기록기 테스트")
+public class PointHistoryWriterTest {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    private PointHistoryTable pointHistoryTable;
+
+    private PointHistoryWriter pointHistoryWriter;
+
+    @BeforeEach
+    void setUp(){
+        pointHistoryTable = new PointHistoryTable();
+        pointHistoryWriter = PointHistoryWriters.inMemory(pointHistoryTable, 100, 10, pointMetrics);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    @Test
+    @DisplayName("기록을 요청한 이력은 테이블에 기록되기 전에도 바로 조회된다.")
+    void selectAllByUserId_ReturnsPendingHistory_WhenNotWrittenYet(){
+        pointHistoryWriter.append(USER_ID, 100L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(USER_ID, 50L, TransactionType.USE, 2L);
+
+        List<PointHistory> result = pointHistoryWriter.selectAllByUserId(USER_ID);
+
+        assertThat(result).extracting(PointHistory::amount).containsExactly(100L, 50L);
+    }
+
+    @Test
+    @DisplayName("flush 이후에는 요청 순서대로 id 가 발급되어 테이블에 기록되어 있다.")
+    void flush_WritesHistoryInOrder() throws InterruptedException {
+        for (long amount = 1; amount <= 5; amount++) {
+            pointHistoryWriter.append(USER_ID, amount, TransactionType.CHARGE, amount);
+        }
+
+        pointHistoryWriter.flush();
+
+        List<PointHistory> result = pointHistoryTable.selectAllByUserId(USER_ID);
+        assertThat(result).extracting(PointHistory::amount).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(result).extracting(PointHistory::id).isSorted().doesNotContain(0L);
+    }
+
+    @Test
+    @DisplayName("순차 조회는 조각 크기와 관계없이 기록된 이력과 기록 대기 중인 이력을 순서대로 모두 반환한다.")
+    void streamAllByUserId_ReturnsAllInOrder() throws InterruptedException {
+        for (long amount = 1; amount <= 5; amount++) {
+            pointHistoryWriter.append(USER_ID, amount, TransactionType.CHARGE, amount);
+        }
+        pointHistoryWriter.flush();
+        pointHistoryWriter.append(USER_ID, 6L, TransactionType.CHARGE, 6L);
+
+        List<PointHistory> result = pointHistoryWriter.streamAllByUserId(USER_ID, 2).toList();
+
+        assertThat(result).extracting(PointHistory::amount).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    @DisplayName("테이블 기록에 실패한 이력은 버리지 않고 같은 사용자의 이후 이력보다 먼저 다시 기록하며, 그동안에도 조회된다.")
+    void flush_RetriesHistory_WhenTableInsertFails() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AtomicInteger failures = new AtomicInteger(2);
+        PointHistoryTable failingTable = new PointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (amount == 100L && failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("테이블 기록 실패");
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        PointHistoryWriter failingWriter = PointHistoryWriters.inMemory(failingTable, 100, 10, new PointMetrics(meterRegistry));
+        try {
+            failingWriter.append(USER_ID, 100L, TransactionType.CHARGE, 1L);
+            failingWriter.append(USER_ID, 200L, TransactionType.CHARGE, 2L);
+            failingWriter.append(OTHER_USER_ID, 300L, TransactionType.CHARGE, 3L);
+            List<PointHistory> duringRetry = failingWriter.selectAllByUserId(USER_ID);
+
+            failingWriter.flush();
+
+            List<PointHistory> written = failingWriter.selectAllByUserId(USER_ID);
+            Assertions.assertAll(
+                    () -> assertThat(duringRetry).extracting(PointHistory::amount).containsExactly(100L, 200L),
+                    () -> assertThat(failingTable.selectAllByUserId(USER_ID)).extracting(PointHistory::amount).containsExactly(100L, 200L),
+                    () -> assertThat(written).extracting(PointHistory::amount).containsExactly(100L, 200L),
+                    () -> assertThat(written.get(0).id()).isPositive().isLessThan(written.get(1).id()),
+                    () -> assertThat(failingWriter.selectAllByUserId(OTHER_USER_ID)).extracting(PointHistory::amount).containsExactly(300L),
+                    () -> assertThat(meterRegistry.get("point.history.write.failures").counter().count()).isEqualTo(2),
+                    () -> assertThat(meterRegistry.get("point.history.retry.size").gauge().value()).isZero()
+            );
+        } finally {
+            failingWriter.close();
+        }
+    }
+
+    @Test
+    @DisplayName("종료 시 남아있는 이력을 모두 기록하고, 이후의 기록 요청은 IllegalStateException 오류 발생")
+    void close_WritesRemainingHistory() throws InterruptedException {
+        pointHistoryWriter.append(USER_ID, 100L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(USER_ID, 200L, TransactionType.CHARGE, 2L);
+
+        pointHistoryWriter.close();
+
+        assertThat(pointHistoryTable.selectAllByUserId(USER_ID)).hasSize(2);
+        assertThatThrownBy(() -> pointHistoryWriter.append(USER_ID, 300L, TransactionType.CHARGE, 3L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
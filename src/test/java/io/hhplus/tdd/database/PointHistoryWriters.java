@@ -0,0 +1,41 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointMetrics;
+
+import java.time.Duration;
+
+/**
+ * 테스트/벤치마크용 포인트 이력 기록기
+ *  - 색인은 메모리(PointHistoryIndex)에 두고, 실패한 기록은 10ms 부터 100ms 까지 늘려 가며 다시 시도한다.
+ *  - PointHistoryWriter 생성자가 바뀌면 이 파일만 고친다.
+ */
+public final class PointHistoryWriters {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(10);
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofMillis(100);
+
+    private PointHistoryWriters() {
+    }
+
+    // 저널 없이 PointHistoryTable 에 기록한다.
+    public static PointHistoryWriter inMemory(int capacity, int batchSize, PointMetrics pointMetrics) {
+        return inMemory(new PointHistoryTable(), capacity, batchSize, pointMetrics);
+    }
+
+    // 저널 없이 주어진 테이블에 기록한다. (실패하는 테이블, 지연 없는 테이블 등)
+    public static PointHistoryWriter inMemory(PointHistoryTable pointHistoryTable, int capacity, int batchSize, PointMetrics pointMetrics) {
+        return journaled(pointHistoryTable, PointHistoryJournal.disabled(), capacity, batchSize, pointMetrics);
+    }
+
+    // 저널에 먼저 남긴 뒤 PointHistoryTable 에 기록한다.
+    public static PointHistoryWriter journaled(PointHistoryJournal pointHistoryJournal, int capacity, int batchSize, PointMetrics pointMetrics) {
+        return journaled(new PointHistoryTable(), pointHistoryJournal, capacity, batchSize, pointMetrics);
+    }
+
+    private static PointHistoryWriter journaled(PointHistoryTable pointHistoryTable, PointHistoryJournal pointHistoryJournal,
+                                                int capacity, int batchSize, PointMetrics pointMetrics) {
+        return new PointHistoryWriter(pointHistoryTable, new PointHistoryIndex(), pointHistoryJournal, capacity, batchSize,
+                SHUTDOWN_TIMEOUT, RETRY_BACKOFF, MAX_RETRY_BACKOFF, pointMetrics);
+    }
+}
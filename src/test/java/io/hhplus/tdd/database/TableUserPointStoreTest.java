@@ -0,0 +1,50 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserPointTable 저장소 테스트")
+public class TableUserPointStoreTest {
+
+    private static final int USER_COUNT = 20; // UserPointTable(HashMap) 이 한 번 이상 커지는 사용자 수
+    private static final long CHARGE_POINT = 100L;
+
+    private final UserPointTable userPointTable = new UserPointTable();
+
+    private final TableUserPointStore tableUserPointStore = new TableUserPointStore(userPointTable, new PointMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    @DisplayName("서로 다른 사용자들이 동시에 충전해도 테이블 접근이 직렬화되어 잃어버리는 포인트가 없다.")
+    void insertOrUpdate_KeepsEveryUser_WhenDistinctUsersChargeConcurrently() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(USER_COUNT);
+        CountDownLatch latch = new CountDownLatch(USER_COUNT);
+
+        for (int i = 1; i <= USER_COUNT; i++) {
+            long userId = i;
+            executorService.submit(() -> {
+                try {
+                    long point = tableUserPointStore.selectById(userId).point();
+                    tableUserPointStore.insertOrUpdate(userId, point + CHARGE_POINT);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await(); // 모든 스레드가 끝날 때까지 대기
+        executorService.shutdown();
+
+        //then
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            assertThat(userPointTable.selectById(userId).point()).as("사용자 %d", userId).isEqualTo(CHARGE_POINT);
+        }
+    }
+}
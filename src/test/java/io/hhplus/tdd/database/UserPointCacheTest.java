@@ -0,0 +1,56 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("사용자 포인트 캐시 테스트")
+public class UserPointCacheTest {
+
+    private final UserPointTable userPointTable = new UserPointTable();
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("한 번 읽은 사용자는 다시 테이블을 읽지 않고 캐시에서 조회된다.")
+    void selectById_Hit_WhenLoadedBefore(){
+        UserPointCache userPointCache = new UserPointCache(new TableUserPointStore(userPointTable, pointMetrics), 10);
+
+        userPointCache.selectById(1L);
+        userPointCache.selectById(1L);
+
+        assertThat(userPointCache.stats().misses()).isEqualTo(1);
+        assertThat(userPointCache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("변경은 테이블과 캐시에 함께 반영된다.")
+    void insertOrUpdate_WritesThrough(){
+        UserPointCache userPointCache = new UserPointCache(new TableUserPointStore(userPointTable, pointMetrics), 10);
+
+        userPointCache.insertOrUpdate(1L, 500L);
+
+        assertThat(userPointCache.getIfPresent(1L).point()).isEqualTo(500L);
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(500L);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 사용자가 제거된다.")
+    void insertOrUpdate_EvictsLeastRecentlyUsed_WhenExceededMaxSize(){
+        UserPointCache userPointCache = new UserPointCache(new TableUserPointStore(userPointTable, pointMetrics), 2);
+        userPointCache.insertOrUpdate(1L, 100L);
+        userPointCache.insertOrUpdate(2L, 200L);
+        userPointCache.getIfPresent(1L); // 1번 사용자를 최근 사용으로 갱신
+
+        userPointCache.insertOrUpdate(3L, 300L);
+
+        UserPoint evicted = userPointCache.getIfPresent(2L);
+        assertThat(evicted).isNull();
+        assertThat(userPointCache.getIfPresent(1L)).isNotNull();
+        assertThat(userPointCache.stats().evictions()).isEqualTo(1);
+    }
+}
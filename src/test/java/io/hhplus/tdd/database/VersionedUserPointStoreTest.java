@@ -0,0 +1,99 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("버전 비교 저장소 테스트")
+public class VersionedUserPointStoreTest {
+
+    private static final long USER_ID = 1L;
+
+    @Test
+    @DisplayName("조회한 버전이 그대로면 저장되고 버전이 오르며, 오래된 버전으로는 저장되지 않는다.")
+    void compareAndSet_RejectsStaleVersion(){
+        VersionedUserPointStore store = new VersionedUserPointStore(new PrimitiveUserPointStore(4, 16));
+        UserPoint read = store.selectById(USER_ID);
+
+        UserPoint first = store.compareAndSet(USER_ID, read.version(), 100L);
+        UserPoint stale = store.compareAndSet(USER_ID, read.version(), 999L);
+
+        Assertions.assertAll(
+                () -> assertThat(first.point()).isEqualTo(100L),
+                () -> assertThat(first.version()).isGreaterThan(read.version()),
+                () -> assertThat(stale).isNull(),
+                () -> assertThat(store.selectById(USER_ID)).extracting(UserPoint::point, UserPoint::version).containsExactly(100L, first.version())
+        );
+    }
+
+    @Test
+    @DisplayName("두 사용자 중 하나라도 버전이 바뀌었으면 둘 다 저장되지 않고, 다시 조회한 버전으로는 함께 저장된다.")
+    void compareAndSetBoth_StoresNeither_WhenEitherVersionIsStale(){
+        VersionedUserPointStore store = new VersionedUserPointStore(new PrimitiveUserPointStore(4, 16));
+        long otherUserId = 2L;
+        UserPoint from = store.compareAndSet(USER_ID, store.selectById(USER_ID).version(), 100L);
+        UserPoint staleTo = store.selectById(otherUserId);
+        store.insertOrUpdate(otherUserId, 50L);
+
+        List<UserPoint> conflicted = store.compareAndSetBoth(from, 70L, staleTo, 30L);
+        List<UserPoint> reversed = store.compareAndSetBoth(staleTo, 20L, from, 130L);
+        UserPoint to = store.selectById(otherUserId);
+        List<UserPoint> stored = store.compareAndSetBoth(from, 70L, to, 80L);
+
+        Assertions.assertAll(
+                () -> assertThat(conflicted).isNull(),
+                () -> assertThat(reversed).isNull(),
+                () -> assertThat(stored).extracting(UserPoint::point).containsExactly(70L, 80L),
+                () -> assertThat(store.selectById(USER_ID)).extracting(UserPoint::point, UserPoint::version).containsExactly(70L, from.version() + 2),
+                () -> assertThat(store.selectById(otherUserId)).extracting(UserPoint::point, UserPoint::version).containsExactly(80L, to.version() + 2)
+        );
+    }
+
+    @Test
+    @DisplayName("저장 중에는 같은 사용자의 다른 저장과 조회가 기다리지 않고, 그때 조회한 값으로는 저장할 수 없다.")
+    void compareAndSet_DoesNotBlock_WhileWriteInProgress() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PrimitiveUserPointStore primitive = new PrimitiveUserPointStore(4, 16);
+        VersionedUserPointStore store = new VersionedUserPointStore(new UserPointStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                return primitive.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                writing.countDown();
+                try {
+                    release.await(); // 느린 테이블 저장
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return primitive.insertOrUpdate(id, amount);
+            }
+        });
+        long version = store.selectById(USER_ID).version();
+        CompletableFuture<UserPoint> slowWrite = CompletableFuture.supplyAsync(() -> store.compareAndSet(USER_ID, version, 100L));
+        writing.await(5, TimeUnit.SECONDS);
+
+        UserPoint duringWrite = store.selectById(USER_ID);
+        UserPoint conflicted = store.compareAndSet(USER_ID, version, 200L);
+        UserPoint fromDuringWrite = store.compareAndSet(USER_ID, duringWrite.version(), 300L);
+        release.countDown();
+
+        Assertions.assertAll(
+                () -> assertThat(conflicted).isNull(),
+                () -> assertThat(fromDuringWrite).isNull(),
+                () -> assertThat(slowWrite.get(5, TimeUnit.SECONDS).point()).isEqualTo(100L),
+                () -> assertThat(store.selectById(USER_ID).point()).isEqualTo(100L)
+        );
+    }
+}
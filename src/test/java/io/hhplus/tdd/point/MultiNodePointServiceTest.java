@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.FencedUserPointStore;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.PointHistoryWriters;
+import io.hhplus.tdd.database.PrimitiveUserPointStore;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("여러 노드 사용자 락 테스트")
+public class MultiNodePointServiceTest {
+
+    private static final int NODE_COUNT = 3;
+    private static final long USER_ID = 1L;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    // 모든 노드가 함께 쓰는 저장소 (실제 환경의 DB 역할)
+    private final UserPointStore sharedStore = new FencedUserPointStore(new PrimitiveUserPointStore(4, 16));
+
+    private final List<PointHistoryWriter> pointHistoryWriters = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (PointHistoryWriter pointHistoryWriter : pointHistoryWriters) {
+            pointHistoryWriter.close();
+        }
+    }
+
+    @Test
+    @DisplayName("여러 노드가 같은 락 서버를 공유하면 같은 사용자에게 동시에 충전해도 합계가 정확하다.")
+    void chargeUserPoint_Exact_WhenNodesShareLockProvider() throws InterruptedException {
+        UserLockProvider lockServer = new SimulatedRemoteUserLockProvider(Duration.ofMillis(1), Duration.ofSeconds(30));
+        List<PointService> nodes = new ArrayList<>();
+        for (int i = 0; i < NODE_COUNT; i++) {
+            nodes.add(node(lockServer));
+        }
+        int requestsPerNode = 30;
+        CountDownLatch latch = new CountDownLatch(NODE_COUNT * requestsPerNode);
+        ExecutorService executorService = Executors.newFixedThreadPool(NODE_COUNT * 4);
+
+        for (PointService node : nodes) {
+            for (int i = 0; i < requestsPerNode; i++) {
+                executorService.submit(() -> {
+                    try {
+                        node.chargeUserPoint(USER_ID, 10L);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+        }
+        latch.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        Assertions.assertAll(
+                () -> assertThat(latch.getCount()).isZero(),
+                () -> assertThat(sharedStore.selectById(USER_ID).point()).isEqualTo(NODE_COUNT * requestsPerNode * 10L),
+                () -> assertThat(nodes.get(0).getUserPointById(USER_ID).point()).isEqualTo(NODE_COUNT * requestsPerNode * 10L)
+        );
+    }
+
+    @Test
+    @DisplayName("lease 가 만료된 뒤 늦게 도착한 이전 보유자의 저장은 fencing token 으로 거절된다.")
+    void insertOrUpdate_Rejected_WhenLeaseExpired() throws InterruptedException {
+        UserLockProvider lockServer = new SimulatedRemoteUserLockProvider(Duration.ZERO, Duration.ofMillis(50));
+
+        UserLockProvider.Lease stale = lockServer.acquire(USER_ID);
+        TimeUnit.MILLISECONDS.sleep(100); // 이전 보유자가 멈춘 사이 lease 가 만료된다.
+        try (UserLockProvider.Lease current = lockServer.acquire(USER_ID)) {
+            assertThat(current.fencingToken()).isGreaterThan(stale.fencingToken());
+            sharedStore.insertOrUpdate(USER_ID, 100L, current.fencingToken());
+        }
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> sharedStore.insertOrUpdate(USER_ID, 999L, stale.fencingToken()));
+        stale.close();
+        assertThat(sharedStore.selectById(USER_ID).point()).isEqualTo(100L);
+    }
+
+    @Test
+    @DisplayName("새 보유자가 조회한 뒤 저장하기 전에 도착한 이전 보유자의 저장도 fencing token 으로 거절된다.")
+    void insertOrUpdate_Rejected_WhenStaleWriteArrivesBetweenNewHolderReadAndWrite() throws InterruptedException {
+        UserLockProvider lockServer = new SimulatedRemoteUserLockProvider(Duration.ZERO, Duration.ofMillis(50));
+
+        UserLockProvider.Lease stale = lockServer.acquire(USER_ID);
+        sharedStore.fence(USER_ID, stale.fencingToken());
+        UserPoint staleRead = sharedStore.selectById(USER_ID);
+        TimeUnit.MILLISECONDS.sleep(100); // 이전 보유자가 멈춘 사이 lease 가 만료된다.
+
+        try (UserLockProvider.Lease current = lockServer.acquire(USER_ID)) {
+            sharedStore.fence(USER_ID, current.fencingToken());
+            UserPoint currentRead = sharedStore.selectById(USER_ID);
+
+            // 새 보유자가 아직 저장하지 않았지만, 조회할 때 기록한 token 때문에 이전 보유자의 저장은 거절된다.
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> sharedStore.insertOrUpdate(USER_ID, staleRead.point() + 999L, stale.fencingToken()));
+            sharedStore.insertOrUpdate(USER_ID, currentRead.point() + 100L, current.fencingToken());
+        }
+        stale.close();
+
+        Assertions.assertAll(
+                () -> assertThat(sharedStore.selectById(USER_ID).point()).isEqualTo(100L),
+                () -> Assertions.assertThrows(IllegalStateException.class,
+                        () -> sharedStore.fence(USER_ID, stale.fencingToken()))
+        );
+    }
+
+    // 캐시 없이 공유 저장소와 락 서버만 함께 쓰는 노드 하나를 만든다.
+    private PointService node(UserLockProvider lockServer) {
+        PointHistoryWriter pointHistoryWriter = PointHistoryWriters.inMemory(100, 10, pointMetrics);
+        pointHistoryWriters.add(pointHistoryWriter);
+        UserPointCache userPointCache = new UserPointCache(sharedStore, 0);
+        UserLockManager userLockManager = new UserLockManager(lockServer, pointMetrics);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        return new PointService(userPointCache, pointHistoryWriter,
+                new PointCommandCoalescer(userLockManager, pointCommandProcessor, pointMetrics), pointMetrics,
+                new IdempotencyCache(0, Duration.ZERO, pointMetrics), 1000, 500);
+    }
+}
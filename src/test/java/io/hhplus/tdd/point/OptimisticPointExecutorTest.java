@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.PointHistoryWriters;
+import io.hhplus.tdd.database.PrimitiveUserPointStore;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.VersionedStore;
+import io.hhplus.tdd.database.VersionedUserPointStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("낙관적 충전/사용 요청 실행기 테스트")
+public class OptimisticPointExecutorTest {
+
+    private static final long USER_ID = 1L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+    private PointHistoryWriter pointHistoryWriter;
+
+    @BeforeEach
+    void setUp(){
+        pointHistoryWriter = PointHistoryWriters.inMemory(10_000, 100, pointMetrics);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    @Test
+    @DisplayName("한 사용자에게 동시에 충전해도 충돌한 요청은 다시 시도되어 합계와 이력 수가 정확하다.")
+    void execute_AppliesAllCharges_WhenConflicting() throws InterruptedException {
+        VersionedStore versionedStore = new VersionedUserPointStore(new PrimitiveUserPointStore(4, 16));
+        UserPointCache userPointCache = new UserPointCache(versionedStore, 100);
+        OptimisticPointExecutor executor = executor(versionedStore, userPointCache, 1_000);
+        int threadCount = 8;
+        int iterations = 200;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    for (int n = 0; n < iterations; n++) {
+                        executor.execute(PointCommand.charge(USER_ID, 1L));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        Assertions.assertAll(
+                () -> assertThat(latch.getCount()).isZero(),
+                () -> assertThat(userPointCache.reload(USER_ID).point()).isEqualTo(threadCount * iterations),
+                () -> assertThat(pointHistoryWriter.selectAllByUserId(USER_ID)).hasSize(threadCount * iterations),
+                () -> assertThat(meterRegistry.get("point.optimistic.attempts").summary().count()).isEqualTo(threadCount * iterations)
+        );
+    }
+
+    @Test
+    @DisplayName("재시도를 모두 충돌하면 IllegalStateException 이 발생하고 포인트와 이력은 남지 않는다.")
+    void execute_ThrowsIllegalStateException_WhenAttemptsExhausted(){
+        PrimitiveUserPointStore primitive = new PrimitiveUserPointStore(4, 16);
+        // 항상 다른 저장이 먼저 일어난 것처럼 충돌하는 저장소
+        VersionedStore versionedStore = new VersionedStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                return primitive.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                return primitive.insertOrUpdate(id, amount);
+            }
+
+            @Override
+            public UserPoint compareAndSet(long id, long expectedVersion, long amount) {
+                return null;
+            }
+
+            @Override
+            public List<UserPoint> compareAndSetBoth(UserPoint from, long fromAmount, UserPoint to, long toAmount) {
+                return null;
+            }
+        };
+        UserPointCache userPointCache = new UserPointCache(versionedStore, 100);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> executor(versionedStore, userPointCache, 3).execute(PointCommand.charge(USER_ID, 100L)));
+
+        Assertions.assertAll(
+                () -> assertThat(primitive.selectById(USER_ID).point()).isZero(),
+                () -> assertThat(pointHistoryWriter.selectAllByUserId(USER_ID)).isEmpty(),
+                () -> assertThat(meterRegistry.get("point.optimistic.conflicts").counter().count()).isEqualTo(3),
+                () -> assertThat(meterRegistry.get("point.optimistic.exhausted").counter().count()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("버전 비교를 지원하지 않는 저장소로 낙관적 실행기를 설정하면 시작할 때 IllegalStateException 이 발생한다.")
+    void pointCommandExecutor_ThrowsIllegalStateException_WhenStoreIsNotVersioned(){
+        PrimitiveUserPointStore primitive = new PrimitiveUserPointStore(4, 16);
+        UserPointCache userPointCache = new UserPointCache(primitive, 100);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class, () -> new PointCommandExecutorConfig().pointCommandExecutor(
+                null, pointCommandProcessor, userPointCache, primitive, pointMetrics, "optimistic", 1, 16, 3, Duration.ofNanos(10_000), Duration.ofMillis(1)));
+
+        assertThat(exception.getMessage()).contains("VersionedStore");
+    }
+
+    private OptimisticPointExecutor executor(VersionedStore versionedStore, UserPointCache userPointCache, int maxAttempts) {
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        return new OptimisticPointExecutor(userPointCache, versionedStore, pointCommandProcessor, pointMetrics, maxAttempts, Duration.ofNanos(10_000), Duration.ofMillis(1));
+    }
+}
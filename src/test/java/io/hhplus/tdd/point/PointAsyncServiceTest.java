@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("포인트 비동기 서비스 통합 테스트")
+public class PointAsyncServiceTest {
+
+    private static final Long USER_ID = 3001L;
+
+    @Autowired
+    private PointAsyncService pointAsyncService;
+
+    @Autowired
+    private UserPointCache userPointCache;
+
+    @Autowired
+    private PointHistoryWriter pointHistoryWriter;
+
+    @BeforeEach
+    void setUp(){
+        userPointCache.insertOrUpdate(USER_ID, 0L);
+    }
+
+    @Test
+    @DisplayName("정상 케이스: 결과를 기다리지 않고 연달아 보낸 같은 사용자의 요청이 보낸 순서대로 처리된다.")
+    void usePoint_Success_WhenSubmittedAfterChargeWithoutWaiting() throws Exception {
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(pointAsyncService.chargeUserPoint(USER_ID, 100L));
+            futures.add(pointAsyncService.usePoint(USER_ID, 100L)); // 앞의 충전보다 먼저 처리되면 잔고 부족으로 실패한다.
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        pointHistoryWriter.flush();
+
+        Assertions.assertAll(
+                () -> assertThat(futures).extracting(future -> future.join().point()).containsExactly(100L, 0L, 100L, 0L, 100L, 0L, 100L, 0L, 100L, 0L),
+                () -> assertThat(pointHistoryWriter.selectAllByUserId(USER_ID)).extracting(PointHistory::type).endsWith(
+                        TransactionType.CHARGE, TransactionType.USE, TransactionType.CHARGE, TransactionType.USE, TransactionType.CHARGE,
+                        TransactionType.USE, TransactionType.CHARGE, TransactionType.USE, TransactionType.CHARGE, TransactionType.USE)
+        );
+    }
+
+    @Test
+    @DisplayName("비정상 케이스: 거절된 요청은 IllegalArgumentException 으로 완료되고, 뒤이은 같은 사용자의 요청은 그대로 처리된다.")
+    void usePoint_CompletesExceptionally_WhenBalanceIsInsufficient() throws Exception {
+        CompletableFuture<UserPoint> rejected = pointAsyncService.usePoint(USER_ID, 500L);
+        CompletableFuture<UserPoint> charged = pointAsyncService.chargeUserPoint(USER_ID, 500L);
+
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> rejected.get(30, TimeUnit.SECONDS));
+
+        Assertions.assertAll(
+                () -> assertThat(exception.getCause()).isInstanceOf(IllegalArgumentException.class).hasMessage("포인트가 부족합니다."),
+                () -> assertThat(charged.get(30, TimeUnit.SECONDS).point()).isEqualTo(500L)
+        );
+    }
+}
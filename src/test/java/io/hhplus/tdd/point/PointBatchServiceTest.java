@@ -0,0 +1,162 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("포인트 일괄 처리 통합 테스트")
+public class PointBatchServiceTest {
+
+    private static final Long USER_A = 2001L;
+    private static final Long USER_B = 2002L;
+
+    @Autowired
+    private PointBatchService pointBatchService;
+
+    @Autowired
+    private UserPointCache userPointCache;
+
+    @Autowired
+    private UserPointTable userPointTable;
+
+    @Autowired
+    private PointHistoryWriter pointHistoryWriter;
+
+    @BeforeEach
+    void setUp(){
+        userPointCache.insertOrUpdate(USER_A, 1000L);
+        userPointCache.insertOrUpdate(USER_B, 0L);
+    }
+
+    @Test
+    @DisplayName("정상 케이스: 사용자별로 요청 순서대로 반영되고 결과는 요청 순서대로 반환된다.")
+    void applyAll_Success_WhenCommandsAreValid(){
+        List<PointBatchCommand> commands = List.of(
+                charge(USER_A, 500L),
+                charge(USER_B, 300L),
+                use(USER_A, 1200L),
+                use(USER_B, 100L)
+        );
+
+        List<PointCommandResult> results = pointBatchService.applyAll(commands);
+
+        Assertions.assertAll(
+                () -> assertThat(results).extracting(PointCommandResult::success).containsExactly(true, true, true, true),
+                () -> assertThat(results).extracting(PointCommandResult::point).containsExactly(1500L, 300L, 300L, 200L),
+                () -> assertThat(userPointTable.selectById(USER_A).point()).isEqualTo(300L),
+                () -> assertThat(userPointTable.selectById(USER_B).point()).isEqualTo(200L)
+        );
+    }
+
+    @Test
+    @DisplayName("비정상 케이스: 규칙에 어긋난 요청만 실패하고 같은 사용자의 나머지 요청은 반영된다.")
+    void applyAll_FailsOnlyInvalidCommands(){
+        List<PointBatchCommand> commands = List.of(
+                use(USER_A, 2000L),     // 잔고 부족
+                charge(USER_A, 200000L), // 1회 충전 한도 초과
+                charge(USER_A, 100L),
+                charge(-1L, 100L)        // 잘못된 userId
+        );
+
+        List<PointCommandResult> results = pointBatchService.applyAll(commands);
+
+        Assertions.assertAll(
+                () -> assertThat(results).extracting(PointCommandResult::success).containsExactly(false, false, true, false),
+                () -> assertThat(results.get(0).message()).isEqualTo("포인트가 부족합니다."),
+                () -> assertThat(results.get(1).message()).isEqualTo("1회 최대 충전 포인트는 100000점 입니다."),
+                () -> assertThat(results.get(3).message()).isEqualTo("userId는 음수일 수 없습니다."),
+                () -> assertThat(userPointTable.selectById(USER_A).point()).isEqualTo(1100L)
+        );
+    }
+
+    @Test
+    @DisplayName("비정상 케이스: userId, type, amount 가 빠졌거나 userId 가 0 인 요청은 해당 요청만 실패하고 나머지 요청은 반영된다.")
+    void applyAll_FailsOnlyMalformedCommands_WhenFieldIsMissing(){
+        List<PointBatchCommand> commands = List.of(
+                new PointBatchCommand(USER_B, null, 100L),                     // type 누락
+                new PointBatchCommand(USER_B, TransactionType.CHARGE, null),   // amount 누락
+                new PointBatchCommand(null, TransactionType.CHARGE, 100L),     // userId 누락
+                charge(0L, 100L),                                               // 잘못된 userId
+                charge(USER_B, 300L)
+        );
+
+        List<PointCommandResult> results = pointBatchService.applyAll(commands);
+
+        Assertions.assertAll(
+                () -> assertThat(results).extracting(PointCommandResult::success).containsExactly(false, false, false, false, true),
+                () -> assertThat(results.get(0).message()).isEqualTo("type은 CHARGE 또는 USE 여야 합니다."),
+                () -> assertThat(results.get(1).message()).isEqualTo("amount는 필수입니다."),
+                () -> assertThat(results.get(2).message()).isEqualTo("userId는 필수입니다."),
+                () -> assertThat(results.get(3).message()).isEqualTo("userId는 0보다 커야 합니다."),
+                () -> assertThat(userPointTable.selectById(USER_B).point()).isEqualTo(300L)
+        );
+    }
+
+    @Test
+    @DisplayName("정상/비정상 케이스: amount 는 단건 충전/사용과 같은 규칙이라 0 은 반영되고 음수는 같은 메시지로 실패한다.")
+    void applyAll_AppliesAmountRulesOfSingleRequests(){
+        List<PointBatchCommand> commands = List.of(
+                charge(USER_B, 0L),
+                use(USER_B, 0L),
+                charge(USER_B, -100L),
+                use(USER_B, -100L)
+        );
+
+        List<PointCommandResult> results = pointBatchService.applyAll(commands);
+
+        Assertions.assertAll(
+                () -> assertThat(results).extracting(PointCommandResult::success).containsExactly(true, true, false, false),
+                () -> assertThat(results.get(2).message()).isEqualTo("충전할 포인트는 0보다 커야 합니다."),
+                () -> assertThat(results.get(3).message()).isEqualTo("사용할 포인트는 0보다 커야 합니다."),
+                () -> assertThat(userPointTable.selectById(USER_B).point()).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("정상 케이스: 성공한 요청마다 이력이 남는다.")
+    void applyAll_AppendsHistoryPerSucceededCommand(){
+        int historyCountBefore = pointHistoryWriter.selectAllByUserId(USER_B).size();
+        List<PointBatchCommand> commands = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            commands.add(charge(USER_B, 10L));
+        }
+        commands.add(use(USER_B, 1000L)); // 잔고 부족
+
+        pointBatchService.applyAll(commands);
+
+        List<PointHistory> histories = pointHistoryWriter.selectAllByUserId(USER_B);
+        assertThat(histories).hasSize(historyCountBefore + 5);
+    }
+
+    @Test
+    @DisplayName("비정상 케이스: 최대 요청 수를 초과한 경우 IllegalArgumentException 오류 발생")
+    void applyAll_IllegalArgumentException_WhenExceededMaxSize(){
+        List<PointBatchCommand> commands = new ArrayList<>();
+        for (int i = 0; i <= 10000; i++) {
+            commands.add(charge(USER_A, 1L));
+        }
+
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            pointBatchService.applyAll(commands);
+        });
+
+        Assertions.assertTrue(exception.getMessage().contains("한 번에 처리할 수 있는 요청은"));
+    }
+
+    private static PointBatchCommand charge(Long userId, Long amount) {
+        return new PointBatchCommand(userId, TransactionType.CHARGE, amount);
+    }
+
+    private static PointBatchCommand use(Long userId, Long amount) {
+        return new PointBatchCommand(userId, TransactionType.USE, amount);
+    }
+}
@@ -0,0 +1,96 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("포인트 바이너리 응답 형식 테스트")
+public class PointBinaryCodecTest {
+
+    private static final Type HISTORY_LIST = ResolvableType.forClassWithGenerics(List.class, PointHistory.class).getType();
+
+    private final PointBinaryHttpMessageConverter converter = new PointBinaryHttpMessageConverter();
+
+    @Test
+    @DisplayName("UserPoint 와 이력 페이지를 쓰고 다시 읽으면 같은 값이다.")
+    void write_RoundTrips_UserPointAndPage() throws IOException {
+        UserPoint userPoint = new UserPoint(7L, 1_000_000L, 1_792_000_000_000L, 42L);
+        PointHistoryPage lastPage = new PointHistoryPage(List.of(), null);
+        PointHistoryPage page = new PointHistoryPage(histories(3), 3L);
+
+        ByteArrayOutputStream userPointBytes = new ByteArrayOutputStream();
+        PointBinaryCodec.writeUserPoint(userPoint, userPointBytes);
+        ByteArrayOutputStream lastPageBytes = new ByteArrayOutputStream();
+        PointBinaryCodec.writeHistoryPage(lastPage, lastPageBytes);
+        ByteArrayOutputStream pageBytes = new ByteArrayOutputStream();
+        PointBinaryCodec.writeHistoryPage(page, pageBytes);
+
+        Assertions.assertAll(
+                () -> assertThat(PointBinaryCodec.readUserPoint(new ByteArrayInputStream(userPointBytes.toByteArray()))).isEqualTo(userPoint),
+                () -> assertThat(PointBinaryCodec.readHistoryPage(new ByteArrayInputStream(lastPageBytes.toByteArray()))).isEqualTo(lastPage),
+                () -> assertThat(PointBinaryCodec.readHistoryPage(new ByteArrayInputStream(pageBytes.toByteArray()))).isEqualTo(page)
+        );
+    }
+
+    @Test
+    @DisplayName("id 와 시각이 거꾸로 가거나 사용자가 섞인 이력도 차이(delta)로 써서 그대로 읽힌다.")
+    void write_RoundTrips_WhenDeltasAreNegative() throws IOException {
+        List<PointHistory> histories = List.of(
+                new PointHistory(10L, 1L, 100L, TransactionType.CHARGE, 5_000L),
+                new PointHistory(3L, 2L, 0L, TransactionType.USE, 4_000L),
+                new PointHistory(Long.MAX_VALUE, 1L, Long.MAX_VALUE, TransactionType.CHARGE, 0L),
+                new PointHistory(1L, 1L, 1L, TransactionType.USE, Long.MAX_VALUE)
+        );
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PointBinaryCodec.writeHistories(histories, bytes);
+
+        assertThat(PointBinaryCodec.readHistories(new ByteArrayInputStream(bytes.toByteArray()))).isEqualTo(histories);
+    }
+
+    @Test
+    @DisplayName("바이너리를 요청한 경우에만 이력 목록을 쓰며, 같은 이력의 JSON 보다 작다.")
+    void converter_WritesHistoryList_WhenBinaryRequested() throws IOException {
+        List<PointHistory> histories = histories(1_000);
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        converter.write(histories, HISTORY_LIST, PointBinaryHttpMessageConverter.MEDIA_TYPE, outputMessage);
+        byte[] json = new ObjectMapper().writeValueAsBytes(histories);
+
+        Assertions.assertAll(
+                () -> assertThat(converter.canWrite(HISTORY_LIST, ArrayList.class, PointBinaryHttpMessageConverter.MEDIA_TYPE)).isTrue(),
+                () -> assertThat(converter.canWrite(UserPoint.class, PointBinaryHttpMessageConverter.MEDIA_TYPE)).isTrue(),
+                () -> assertThat(converter.canWrite(HISTORY_LIST, ArrayList.class, MediaType.APPLICATION_JSON)).isFalse(),
+                () -> assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(List.class, String.class).getType(), ArrayList.class, PointBinaryHttpMessageConverter.MEDIA_TYPE)).isFalse(),
+                () -> assertThat(converter.getSupportedMediaTypes(ArrayList.class)).containsExactly(PointBinaryHttpMessageConverter.MEDIA_TYPE),
+                () -> assertThat(converter.getSupportedMediaTypes(PointSummary.class)).isEmpty(),
+                () -> assertThat(converter.canRead(UserPoint.class, PointBinaryHttpMessageConverter.MEDIA_TYPE)).isFalse(),
+                () -> assertThat(outputMessage.getHeaders().getContentType()).isEqualTo(PointBinaryHttpMessageConverter.MEDIA_TYPE),
+                () -> assertThat(PointBinaryCodec.readHistories(new ByteArrayInputStream(outputMessage.getBodyAsBytes()))).isEqualTo(histories),
+                () -> assertThat(outputMessage.getBodyAsBytes().length * 5).isLessThan(json.length)
+        );
+    }
+
+    // 한 사용자의 이력처럼 id 와 시각이 조금씩 늘어나는 이력
+    private List<PointHistory> histories(int count) {
+        List<PointHistory> histories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            histories.add(new PointHistory(i * 7L + 1, 1L, 1_000L + i % 50 * 100, type, 1_792_000_000_000L + i * 1_500L));
+        }
+        return histories;
+    }
+}
@@ -0,0 +1,187 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.PointHistoryWriters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("포인트 이력 피드 테스트")
+public class PointHistoryFeedTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+    private final ExecutorService pointFeedExecutor = Executors.newFixedThreadPool(2);
+
+    private PointHistoryWriter pointHistoryWriter;
+
+    @BeforeEach
+    void setUp(){
+        pointHistoryWriter = PointHistoryWriters.inMemory(100, 10, pointMetrics);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+        pointFeedExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("userId 로 구독하면 그 사용자의 이력만 기록 순서대로 받는다.")
+    void subscribe_ReceivesOnlyUserHistories_WhenFilteredByUser() throws InterruptedException {
+        PointHistoryFeed feed = feed(1024, "disconnect");
+        CollectingListener listener = new CollectingListener();
+        feed.subscribe(1L, null, listener);
+
+        pointHistoryWriter.append(1L, 100L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.append(2L, 200L, TransactionType.CHARGE, 2L);
+        pointHistoryWriter.append(1L, 50L, TransactionType.USE, 3L);
+        pointHistoryWriter.flush();
+
+        List<PointHistory> received = listener.take(2);
+        Assertions.assertAll(
+                () -> assertThat(received).extracting(PointHistory::userId).containsOnly(1L),
+                () -> assertThat(received).extracting(PointHistory::type).containsExactly(TransactionType.CHARGE, TransactionType.USE),
+                () -> assertThat(received.get(0).id()).isLessThan(received.get(1).id()),
+                () -> assertThat(listener.histories.poll(200, TimeUnit.MILLISECONDS)).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("Last-Event-ID 로 다시 구독하면 그 뒤의 이력부터 빠짐없이, 중복 없이 이어서 받는다.")
+    void subscribe_ResumesAfterLastEventId() throws InterruptedException {
+        PointHistoryFeed feed = feed(1024, "disconnect");
+        for (int i = 0; i < 3; i++) {
+            pointHistoryWriter.append(1L, 10L + i, TransactionType.CHARGE, i);
+        }
+        pointHistoryWriter.append(2L, 20L, TransactionType.CHARGE, 3L);
+        pointHistoryWriter.flush();
+        long firstId = pointHistoryWriter.selectAllByUserId(1L).get(0).id();
+
+        CollectingListener userListener = new CollectingListener();
+        CollectingListener allListener = new CollectingListener();
+        feed.subscribe(1L, firstId, userListener);  // 색인에서 이어받는다.
+        feed.subscribe(null, firstId, allListener); // 피드가 보관한 최근 이력에서 이어받는다.
+        pointHistoryWriter.append(1L, 99L, TransactionType.USE, 4L);
+        pointHistoryWriter.flush();
+
+        List<PointHistory> userReceived = userListener.take(3);
+        List<PointHistory> allReceived = allListener.take(4);
+        Assertions.assertAll(
+                () -> assertThat(userReceived).extracting(PointHistory::amount).containsExactly(11L, 12L, 99L),
+                () -> assertThat(allReceived).extracting(PointHistory::amount).containsExactly(11L, 12L, 20L, 99L),
+                () -> assertThat(userListener.histories.poll(200, TimeUnit.MILLISECONDS)).isNull(),
+                () -> assertThat(allListener.histories.poll(0, TimeUnit.MILLISECONDS)).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("disconnect: 대기열이 가득 찬 구독자는 쌓인 이력까지 받은 뒤 구독이 끝난다.")
+    void publish_DisconnectsSlowConsumer_WhenBufferFull() throws InterruptedException {
+        PointHistoryFeed feed = feed(2, "disconnect");
+        CountDownLatch blocked = new CountDownLatch(1);
+        CollectingListener listener = new CollectingListener(blocked);
+        feed.subscribe(null, null, listener);
+
+        for (long id = 1; id <= 10; id++) {
+            feed.publish(new PointHistory(id, 1L, 10L, TransactionType.CHARGE, id));
+        }
+        blocked.countDown();
+
+        Assertions.assertAll(
+                () -> assertThat(listener.closed.await(5, TimeUnit.SECONDS)).isTrue(),
+                () -> assertThat(listener.histories).hasSizeBetween(1, 3),
+                () -> assertThat(new ArrayList<>(listener.histories)).extracting(PointHistory::id)
+                        .containsExactlyElementsOf(List.of(1L, 2L, 3L).subList(0, listener.histories.size())),
+                () -> assertThat(feed.size()).isZero(),
+                () -> assertThat(meterRegistry.get("point.feed.overflows").tag("policy", "disconnect").counter().count()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("drop: 대기열이 가득 차면 새 이력만 버리고 구독은 유지된다.")
+    void publish_DropsHistories_WhenBufferFull() throws InterruptedException {
+        PointHistoryFeed feed = feed(2, "drop");
+        CountDownLatch blocked = new CountDownLatch(1);
+        CollectingListener listener = new CollectingListener(blocked);
+        feed.subscribe(null, null, listener);
+
+        for (long id = 1; id <= 10; id++) {
+            feed.publish(new PointHistory(id, 1L, 10L, TransactionType.CHARGE, id));
+        }
+        blocked.countDown();
+        double dropped = meterRegistry.get("point.feed.overflows").tag("policy", "drop").counter().count();
+        List<PointHistory> delivered = listener.take(10 - (int) dropped);
+        feed.publish(new PointHistory(11L, 1L, 10L, TransactionType.CHARGE, 11L));
+
+        Assertions.assertAll(
+                () -> assertThat(dropped).isGreaterThanOrEqualTo(7),
+                () -> assertThat(delivered.get(0).id()).isEqualTo(1L),
+                () -> assertThat(listener.take(1)).extracting(PointHistory::id).containsExactly(11L),
+                () -> assertThat(listener.closed.getCount()).isEqualTo(1),
+                () -> assertThat(feed.size()).isEqualTo(1)
+        );
+    }
+
+    private PointHistoryFeed feed(int bufferSize, String slowConsumerPolicy) {
+        PointHistoryFeed feed = new PointHistoryFeed(pointHistoryWriter, pointFeedExecutor, pointMetrics, 100, bufferSize, slowConsumerPolicy, Duration.ofMinutes(1));
+        feed.start();
+        return feed;
+    }
+
+    private static final class CollectingListener implements PointHistoryFeed.Listener {
+        private final BlockingQueue<PointHistory> histories = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private final CountDownLatch blocked; // 풀릴 때까지 전송을 붙잡아 느린 구독자를 흉내 낸다.
+
+        CollectingListener() {
+            this(new CountDownLatch(0));
+        }
+
+        CollectingListener(CountDownLatch blocked) {
+            this.blocked = blocked;
+        }
+
+        @Override
+        public void onHistory(PointHistory pointHistory) {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            histories.add(pointHistory);
+        }
+
+        @Override
+        public void onClose() {
+            closed.countDown();
+        }
+
+        List<PointHistory> take(int count) throws InterruptedException {
+            List<PointHistory> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                PointHistory pointHistory = histories.poll(5, TimeUnit.SECONDS);
+                assertThat(pointHistory).as("%d 번째 이력", i + 1).isNotNull();
+                taken.add(pointHistory);
+            }
+            return taken;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("포인트 API 유입 제한 테스트")
+public class PointRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("사용자 버킷의 토큰을 다 쓰면 그 사용자만 거절되고, 다른 사용자는 그대로 받는다.")
+    void tryAcquire_RejectsOnlyThatUser_WhenUserBurstExceeded(){
+        PointRateLimiter pointRateLimiter = new PointRateLimiter(1, 3, 1000, 1000, Duration.ofMinutes(1), pointMetrics);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(pointRateLimiter.tryAcquire(1L)).isZero();
+        }
+        long wait = pointRateLimiter.tryAcquire(1L);
+
+        Assertions.assertAll(
+                () -> assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1)),
+                () -> assertThat(pointRateLimiter.tryAcquire(2L)).isZero(),
+                () -> assertThat(meterRegistry.get("point.rate.limited").tag("scope", PointRateLimiter.USER).counter().count()).isEqualTo(1)
+        );
+    }
+
+    @Test
+    @DisplayName("전체 버킷의 토큰을 다 쓰면 사용자와 관계없이 거절된다.")
+    void tryAcquire_RejectsAllUsers_WhenGlobalBurstExceeded(){
+        PointRateLimiter pointRateLimiter = new PointRateLimiter(1000, 1000, 1, 5, Duration.ofMinutes(1), pointMetrics);
+
+        for (long userId = 1; userId <= 5; userId++) {
+            assertThat(pointRateLimiter.tryAcquire(userId)).isZero();
+        }
+
+        Assertions.assertAll(
+                () -> assertThat(pointRateLimiter.tryAcquire(6L)).isPositive(),
+                () -> assertThat(pointRateLimiter.tryAcquire(null)).isPositive(),
+                () -> assertThat(meterRegistry.get("point.rate.limited").tag("scope", PointRateLimiter.GLOBAL).counter().count()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    @DisplayName("토큰이 다시 가득 찬 사용자 버킷은 정리 주기에 제거되고, 다시 요청하면 가득 찬 버킷으로 시작한다.")
+    void tryAcquire_EvictsIdleBuckets() throws InterruptedException {
+        PointRateLimiter pointRateLimiter = new PointRateLimiter(1000, 2, 1000, 1000, Duration.ofMillis(1), pointMetrics);
+        for (long userId = 1; userId <= 10; userId++) {
+            pointRateLimiter.tryAcquire(userId);
+        }
+        TimeUnit.MILLISECONDS.sleep(20);
+
+        long wait = pointRateLimiter.tryAcquire(11L);
+
+        Assertions.assertAll(
+                () -> assertThat(wait).isZero(),
+                () -> assertThat(pointRateLimiter.size()).isEqualTo(1),
+                () -> assertThat(pointRateLimiter.tryAcquire(1L)).isZero(),
+                () -> assertThat(pointRateLimiter.tryAcquire(1L)).isZero()
+        );
+    }
+
+    @Test
+    @DisplayName("초과한 요청은 컨트롤러로 넘기지 않고 429 와 Retry-After 로 응답한다.")
+    void preHandle_Responds429_WhenRateLimited() throws Exception {
+        PointRateLimiter pointRateLimiter = new PointRateLimiter(1, 1, 1000, 1000, Duration.ofMinutes(1), pointMetrics);
+        PointRateLimitInterceptor interceptor = new PointRateLimitInterceptor(pointRateLimiter, new ObjectMapper());
+
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        boolean first = interceptor.preHandle(request("7"), admitted, new Object());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        boolean second = interceptor.preHandle(request("7"), rejected, new Object());
+
+        Assertions.assertAll(
+                () -> assertThat(first).isTrue(),
+                () -> assertThat(second).isFalse(),
+                () -> assertThat(rejected.getStatus()).isEqualTo(429),
+                () -> assertThat(rejected.getHeader("Retry-After")).isEqualTo("1"),
+                () -> assertThat(rejected.getContentAsString()).contains("\"code\":\"429\"")
+        );
+    }
+
+    private MockHttpServletRequest request(String id) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/" + id + "/charge");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id));
+        return request;
+    }
+}
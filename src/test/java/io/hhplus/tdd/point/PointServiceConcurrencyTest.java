@@ -1,6 +1,12 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.PointHistoryWriters;
+import io.hhplus.tdd.database.PrimitiveUserPointStore;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointStore;
 import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,11 +14,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -22,6 +30,8 @@ public class PointServiceConcurrencyTest {
     private static final Long USER_ID = 1L;
     private static final Long INITAIL_AMOUNT = 1000L;
     private static final int THREAD_COUNT = 10;
+    private static final Long MULTI_USER_ID_BASE = 1000L;
+    private static final long MAX_CHARGE_TABLE_MILLIS = 200 + 300; // 충전 1건의 최대 테이블 지연 (UserPointTable 조회 + 저장)
 
     @Autowired
     private PointService pointService;
@@ -29,9 +39,15 @@ public class PointServiceConcurrencyTest {
     @Autowired
     private UserPointTable userPointTable;
 
+    @Autowired
+    private UserPointCache userPointCache;
+
+    @Autowired
+    private PointCommandCoalescer pointCommandCoalescer;
+
     @BeforeEach
     void setUp(){
-        userPointTable.insertOrUpdate(USER_ID, INITAIL_AMOUNT);
+        userPointCache.insertOrUpdate(USER_ID, INITAIL_AMOUNT);
     }
 
     @Nested
@@ -67,7 +83,7 @@ public class PointServiceConcurrencyTest {
         @DisplayName("포인트 충전을 동시에 여러 번 하던 중 사용자 최대 포인트 한도를 초과한 경우 IllegalArgumentException 오류 발생")
         void chargePoint_IllegalArgumentException_WhenMultipleRequestsUserPointExceededLimit() throws InterruptedException {
             Long chargePoint = 1000L;
-            userPointTable.insertOrUpdate(USER_ID, 991000L); // 초기 포인트 설정
+            userPointCache.insertOrUpdate(USER_ID, 991000L); // 초기 포인트 설정
 
             ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
             CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
@@ -134,7 +150,7 @@ public class PointServiceConcurrencyTest {
         @DisplayName("포인트 사용을 여러 번 진행하던 중 잔고가 부족하면 IllegalArgumentException 오류 발생")
         void usePoint_IllegalArgumentException_WhenMultipleRequestsPointsNotEnough() throws InterruptedException {
             Long usePoint = 1000L;
-            userPointTable.insertOrUpdate(USER_ID, 5000L); // 초기 포인트 설정
+            userPointCache.insertOrUpdate(USER_ID, 5000L); // 초기 포인트 설정
 
             ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
             CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
@@ -167,4 +183,117 @@ public class PointServiceConcurrencyTest {
             assertThat(result.point()).isEqualTo(0L);
         }
     }
+
+    @Nested
+    @DisplayName("동시성 테스트: 여러 사용자 처리량")
+    class multiUserThroughput{
+        private static final long SELECT_MILLIS = 200;
+        private static final long INSERT_OR_UPDATE_MILLIS = 300;
+
+        private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+        private PointHistoryWriter pointHistoryWriter;
+
+        private PointService multiUserPointService;
+
+        // TableUserPointStore 는 테이블 호출을 한 번에 하나씩만 하므로, 테이블의 최대 지연을 그대로 주되 사용자끼리 잠그지 않는 저장소로 확인한다.
+        @BeforeEach
+        void setUp(){
+            pointHistoryWriter = PointHistoryWriters.inMemory(100, 10, pointMetrics);
+            PrimitiveUserPointStore primitiveUserPointStore = new PrimitiveUserPointStore(16, 64);
+            UserPointStore delayedStore = new UserPointStore() {
+                @Override
+                public UserPoint selectById(long id) {
+                    sleep(SELECT_MILLIS);
+                    return primitiveUserPointStore.selectById(id);
+                }
+
+                @Override
+                public UserPoint insertOrUpdate(long id, long amount) {
+                    sleep(INSERT_OR_UPDATE_MILLIS);
+                    return primitiveUserPointStore.insertOrUpdate(id, amount);
+                }
+            };
+            UserPointCache delayedCache = new UserPointCache(delayedStore, 0);
+            UserLockManager userLockManager = new UserLockManager(new LocalUserLockProvider(), pointMetrics);
+            PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(delayedCache, pointHistoryWriter, pointMetrics);
+            multiUserPointService = new PointService(delayedCache, pointHistoryWriter,
+                    new PointCommandCoalescer(userLockManager, pointCommandProcessor, pointMetrics), pointMetrics,
+                    new IdempotencyCache(0, Duration.ZERO, pointMetrics), 1000, 500);
+        }
+
+        @AfterEach
+        void tearDown() throws InterruptedException {
+            pointHistoryWriter.close();
+        }
+
+        @Test
+        @DisplayName("서로 다른 사용자의 요청은 서로를 기다리지 않아 전체 처리 시간이 충전 1건의 최대 테이블 지연의 2배보다 짧다.")
+        void chargePoint_RunsInParallel_WhenRequestsSpreadAcrossUsers() throws InterruptedException {
+            Long chargePoint = 100L;
+
+            // 서로 다른 10명의 사용자에게 1개씩 충전 요청 (병렬 처리)
+            long multiUserElapsed = runConcurrently(i -> multiUserPointService.chargeUserPoint(MULTI_USER_ID_BASE + i, chargePoint));
+
+            //then
+            // 직렬로 처리되면 10건의 테이블 지연이 더해져 약 5초가 걸린다.
+            assertThat(multiUserElapsed)
+                    .as("전체 %dms", multiUserElapsed)
+                    .isLessThan(2 * MAX_CHARGE_TABLE_MILLIS);
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                UserPoint result = multiUserPointService.getUserPointById(MULTI_USER_ID_BASE + i);
+                assertThat(result.point()).isEqualTo(chargePoint);
+            }
+        }
+
+        private void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("동시성 테스트: 같은 사용자 요청 합치기")
+    class hotUserCoalescing{
+        @Test
+        @DisplayName("한 사용자에게 동시에 몰린 요청은 요청 수보다 적은 횟수의 조회/저장으로 합쳐 처리된다.")
+        void chargePoint_Coalesced_WhenRequestsConcentrateOnOneUser() throws InterruptedException {
+            Long chargePoint = 1000L;
+            long passCountBefore = pointCommandCoalescer.passCount();
+
+            runConcurrently(i -> pointService.chargeUserPoint(USER_ID, chargePoint));
+
+            //then
+            long passCount = pointCommandCoalescer.passCount() - passCountBefore;
+            assertThat(passCount).isLessThan(THREAD_COUNT);
+            UserPoint result = userPointTable.selectById(USER_ID);
+            assertThat(result.point()).isEqualTo(INITAIL_AMOUNT + (chargePoint * THREAD_COUNT));
+        }
+    }
+
+    // THREAD_COUNT 개의 요청을 동시에 실행하고 모두 끝날 때까지 걸린 시간(ms)을 반환한다.
+    private long runConcurrently(IntConsumer request) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+
+        long startedAt = System.currentTimeMillis();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            int index = i;
+            executorService.submit(() -> {
+                try {
+                    request.accept(index);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await(); // 모든 스레드가 끝날 때까지 대기
+        executorService.shutdown();
+        return System.currentTimeMillis() - startedAt;
+    }
 }
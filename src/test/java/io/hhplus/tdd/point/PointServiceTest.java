@@ -1,10 +1,11 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import java.util.ArrayList;
 import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -17,10 +18,10 @@ public class PointServiceTest {
     public static final TransactionType type = TransactionType.CHARGE;
 
     @Autowired
-    private UserPointTable userPointTable;
+    private UserPointCache userPointCache;
 
     @Autowired
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryWriter pointHistoryWriter;
 
     @Autowired
     private PointService pointService;
@@ -28,8 +29,8 @@ public class PointServiceTest {
 
     @BeforeEach
     void setUp(){
-        userPointTable.insertOrUpdate(USER_ID, AMOUNT);
-        pointHistoryTable.insert(USER_ID, AMOUNT, type, 1777);
+        userPointCache.insertOrUpdate(USER_ID, AMOUNT);
+        pointHistoryWriter.append(USER_ID, AMOUNT, type, 1777);
     }
 
     @Nested
@@ -54,7 +55,7 @@ public class PointServiceTest {
             Long userId = -1L;
             Long amount = 1000L;
 
-            userPointTable.insertOrUpdate(userId, amount);
+            userPointCache.insertOrUpdate(userId, amount);
 
             IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
                 pointService.getUserPointById(userId);
@@ -62,6 +63,21 @@ public class PointServiceTest {
 
             Assertions.assertTrue(exception.getMessage().contains("userId는 음수일 수 없습니다."));
         }
+
+        @Test
+        @DisplayName("정상 케이스: 충전 후 조회하면 테이블을 거치지 않고 캐시에서 변경된 포인트가 조회된다.")
+        void getUserPoint_ServedFromCache_AfterCharge(){
+            Long chargePoint = 100L;
+            pointService.chargeUserPoint(USER_ID, chargePoint);
+            long missesBefore = userPointCache.stats().misses();
+
+            UserPoint result = pointService.getUserPointById(USER_ID);
+
+            Assertions.assertAll(
+                    () -> assertThat(result.point()).isEqualTo(AMOUNT + chargePoint),
+                    () -> assertThat(userPointCache.stats().misses()).isEqualTo(missesBefore)
+            );
+        }
     }
 
     @Nested
@@ -83,7 +99,7 @@ public class PointServiceTest {
         @DisplayName("비정상 케이스: userId가 음수인 경우 IllegalArgumentException 오류 발생")
         void getUserPointHistory_IllegalArgumentException_WhenUserIdLessThanZero(){
             Long userId = -1L;
-            pointHistoryTable.insert(userId, AMOUNT, TransactionType.CHARGE, 1777);
+            pointHistoryWriter.append(userId, AMOUNT, TransactionType.CHARGE, 1777);
 
             IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
                 pointService.getUserHistoryById(userId);
@@ -93,6 +109,103 @@ public class PointServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("포인트 이력 페이지 조회")
+    class getUserPointHistoryPage{
+
+        @Test
+        @DisplayName("정상 케이스: nextCursor 를 따라가면 기록된 이력을 빠짐없이 조회한다.")
+        void getUserHistoryPage_Success_WhenFollowingCursor() throws InterruptedException {
+            pointHistoryWriter.flush();
+            List<PointHistory> all = pointService.getUserHistoryById(USER_ID);
+
+            List<PointHistory> paged = new ArrayList<>();
+            Long cursor = 0L;
+            while (cursor != null) {
+                PointHistoryPage page = pointService.getUserHistoryPage(USER_ID, cursor, 1);
+                paged.addAll(page.items());
+                cursor = page.nextCursor();
+            }
+
+            assertThat(paged).isEqualTo(all);
+        }
+
+        @Test
+        @DisplayName("비정상 케이스: limit 이 최대 건수를 넘는 경우 IllegalArgumentException 오류 발생")
+        void getUserHistoryPage_IllegalArgumentException_WhenLimitTooLarge(){
+            IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+                pointService.getUserHistoryPage(USER_ID, 0L, 1001);
+            });
+
+            Assertions.assertTrue(exception.getMessage().contains("limit은 1 이상 1000 이하여야 합니다."));
+        }
+    }
+
+    @Nested
+    @DisplayName("포인트 이력 시각 구간 조회")
+    class getUserHistoryByTime{
+
+        @Test
+        @DisplayName("정상 케이스: 구간 안의 이력만 시각 순서대로 조회되고, 전체 이력을 거른 결과와 같다.")
+        void getUserHistoryByTime_Success_WhenRangeIsValid(){
+            pointService.chargeUserPoint(USER_ID, 100L);
+            List<PointHistory> all = pointService.getUserHistoryById(USER_ID);
+
+            List<PointHistory> result = pointService.getUserHistoryByTime(USER_ID, 1777L, 1777L);
+
+            Assertions.assertAll(
+                    () -> assertThat(result).isNotEmpty().allSatisfy(history -> assertThat(history.updateMillis()).isEqualTo(1777L)),
+                    () -> assertThat(result).hasSameSizeAs(all.stream().filter(history -> history.updateMillis() == 1777L).toList())
+            );
+        }
+
+        @Test
+        @DisplayName("비정상 케이스: from 이 to 보다 늦은 경우 IllegalArgumentException 오류 발생")
+        void getUserHistoryByTime_IllegalArgumentException_WhenFromAfterTo(){
+            IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+                pointService.getUserHistoryByTime(USER_ID, 2000L, 1000L);
+            });
+
+            Assertions.assertTrue(exception.getMessage().contains("from은 to보다 늦을 수 없습니다."));
+        }
+    }
+
+    @Nested
+    @DisplayName("포인트 요약 조회")
+    class getUserPointSummary{
+
+        @Test
+        @DisplayName("정상 케이스: 요약은 같은 시점의 이력을 종류별로 합산한 값과 같다.")
+        void getUserPointSummary_MatchesHistory_WhenChargedAndUsed(){
+            pointService.chargeUserPoint(USER_ID, 300L);
+            pointService.usePoint(USER_ID, 200L);
+
+            PointSummary summary = pointService.getUserPointSummary(USER_ID);
+            List<PointHistory> histories = pointService.getUserHistoryById(USER_ID);
+
+            Assertions.assertAll(
+                    () -> assertThat(summary.totalCharged()).isEqualTo(sum(histories, TransactionType.CHARGE)),
+                    () -> assertThat(summary.totalUsed()).isEqualTo(sum(histories, TransactionType.USE)),
+                    () -> assertThat(summary.chargeCount() + summary.useCount()).isEqualTo(histories.size()),
+                    () -> assertThat(summary.firstUpdateMillis()).isEqualTo(1777L)
+            );
+        }
+
+        @Test
+        @DisplayName("비정상 케이스: userId가 음수인 경우 IllegalArgumentException 오류 발생")
+        void getUserPointSummary_IllegalArgumentException_WhenUserIdLessThanZero(){
+            IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+                pointService.getUserPointSummary(-1L);
+            });
+
+            Assertions.assertTrue(exception.getMessage().contains("userId는 음수일 수 없습니다."));
+        }
+
+        private long sum(List<PointHistory> histories, TransactionType type) {
+            return histories.stream().filter(history -> history.type() == type).mapToLong(PointHistory::amount).sum();
+        }
+    }
+
     @Nested
     @DisplayName("포인트 충전")
     class chargePoint{
@@ -134,7 +247,7 @@ public class PointServiceTest {
         @DisplayName("비정상 케이스: 최대 포인트 한도를 넘은 경우 IllegalArgumentException 오류 발생")
         void chargePoint_IllegalArgumentException_WhenUserPointExceededLimit(){
             Long chargePoint = 1000L;
-            userPointTable.insertOrUpdate(USER_ID, 1000000L);
+            userPointCache.insertOrUpdate(USER_ID, 1000000L);
 
             IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
                 pointService.chargeUserPoint(USER_ID, chargePoint);
@@ -0,0 +1,196 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.PointHistoryWriters;
+import io.hhplus.tdd.database.PrimitiveUserPointStore;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.database.VersionedUserPointStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("포인트 이체 동시성 테스트")
+public class PointTransferConcurrencyTest {
+
+    private static final int USER_COUNT = 20;
+    private static final long INITIAL_AMOUNT = 10_000L;
+    private static final int THREAD_COUNT = 16;
+    private static final int TRANSFERS_PER_THREAD = 250;
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    private PointHistoryWriter pointHistoryWriter;
+
+    private PointPartitionEngine pointPartitionEngine;
+
+    @BeforeEach
+    void setUp(){
+        pointHistoryWriter = PointHistoryWriters.inMemory(20_000, 100, pointMetrics);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pointPartitionEngine != null) {
+            pointPartitionEngine.close();
+        }
+        pointHistoryWriter.close();
+    }
+
+    @Test
+    @DisplayName("사용자 락: 겹치는 사용자끼리 양방향으로 동시에 이체해도 멈추지 않고, 전체 포인트 합계가 변하지 않는다.")
+    void transfer_KeepsTotal_WhenLockEngine() throws InterruptedException {
+        UserPointCache userPointCache = new UserPointCache(new PrimitiveUserPointStore(4, 16), 100);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        UserLockManager userLockManager = new UserLockManager(new LocalUserLockProvider(), pointMetrics);
+
+        assertTotalUnchanged(userPointCache, service(userPointCache, new PointCommandCoalescer(userLockManager, pointCommandProcessor, pointMetrics)));
+    }
+
+    @Test
+    @DisplayName("파티션: 서로 다른 파티션 사용자끼리 양방향으로 동시에 이체해도 멈추지 않고, 전체 포인트 합계가 변하지 않는다.")
+    void transfer_KeepsTotal_WhenPartitionEngine() throws InterruptedException {
+        UserPointCache userPointCache = new UserPointCache(new PrimitiveUserPointStore(4, 16), 100);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        pointPartitionEngine = new PointPartitionEngine(pointCommandProcessor, pointMetrics, 4, 8);
+
+        assertTotalUnchanged(userPointCache, service(userPointCache, pointPartitionEngine));
+    }
+
+    @Test
+    @DisplayName("낙관적 실행기: 겹치는 사용자끼리 양방향으로 동시에 이체해도 충돌한 이체는 다시 시도되어, 전체 포인트 합계가 변하지 않는다.")
+    void transfer_KeepsTotal_WhenOptimisticEngine() throws InterruptedException {
+        VersionedUserPointStore versionedStore = new VersionedUserPointStore(new PrimitiveUserPointStore(4, 16));
+        UserPointCache userPointCache = new UserPointCache(versionedStore, 100);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        OptimisticPointExecutor optimisticPointExecutor = new OptimisticPointExecutor(userPointCache, versionedStore, pointCommandProcessor, pointMetrics,
+                1_000, Duration.ofNanos(10_000), Duration.ofMillis(1));
+
+        assertTotalUnchanged(userPointCache, service(userPointCache, optimisticPointExecutor));
+    }
+
+    @Test
+    @DisplayName("보내는 사용자의 포인트가 부족하면 IllegalArgumentException 이 발생하고 두 사용자 모두 포인트와 이력이 그대로이다.")
+    void transfer_IllegalArgumentException_WhenPointsNotEnough(){
+        UserPointCache userPointCache = new UserPointCache(new PrimitiveUserPointStore(4, 16), 100);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        UserLockManager userLockManager = new UserLockManager(new LocalUserLockProvider(), pointMetrics);
+        PointService pointService = service(userPointCache, new PointCommandCoalescer(userLockManager, pointCommandProcessor, pointMetrics));
+        userPointCache.insertOrUpdate(1L, 100L);
+
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> pointService.transferPoint(new PointTransfer(1L, 2L, 101L)));
+
+        Assertions.assertAll(
+                () -> assertThat(exception.getMessage()).isEqualTo("포인트가 부족합니다."),
+                () -> assertThat(userPointCache.selectById(1L).point()).isEqualTo(100L),
+                () -> assertThat(userPointCache.selectById(2L).point()).isZero(),
+                () -> assertThat(pointHistoryWriter.selectAllByUserId(1L)).isEmpty(),
+                () -> assertThat(pointHistoryWriter.selectAllByUserId(2L)).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("받는 사용자의 저장이 실패하면 보내는 사용자의 포인트를 되돌리고 이력을 남기지 않는다.")
+    void transfer_RestoresSender_WhenReceiverWriteFails(){
+        PrimitiveUserPointStore primitive = new PrimitiveUserPointStore(4, 16);
+        // 받는 사용자(2)의 저장만 실패하는 저장소
+        UserPointCache userPointCache = new UserPointCache(new UserPointStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                return primitive.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (id == 2L) {
+                    throw new IllegalStateException("저장 실패");
+                }
+                return primitive.insertOrUpdate(id, amount);
+            }
+        }, 100);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        UserLockManager userLockManager = new UserLockManager(new LocalUserLockProvider(), pointMetrics);
+        PointService pointService = service(userPointCache, new PointCommandCoalescer(userLockManager, pointCommandProcessor, pointMetrics));
+        userPointCache.insertOrUpdate(1L, 100L);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> pointService.transferPoint(new PointTransfer(1L, 2L, 30L)));
+
+        Assertions.assertAll(
+                () -> assertThat(primitive.selectById(1L).point()).isEqualTo(100L),
+                () -> assertThat(userPointCache.selectById(1L).point()).isEqualTo(100L),
+                () -> assertThat(pointHistoryWriter.selectAllByUserId(1L)).isEmpty()
+        );
+    }
+
+    // 여러 스레드가 임의의 두 사용자 사이에서 임의의 금액을 이체한 뒤 합계와 이력을 확인한다.
+    private void assertTotalUnchanged(UserPointCache userPointCache, PointService pointService) throws InterruptedException {
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            userPointCache.insertOrUpdate(userId, INITIAL_AMOUNT);
+        }
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger unexpected = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int n = 0; n < TRANSFERS_PER_THREAD; n++) {
+                        long from = random.nextLong(1, USER_COUNT + 1);
+                        long to = random.nextLong(1, USER_COUNT);
+                        if (to >= from) {
+                            to++;
+                        }
+                        try {
+                            pointService.transferPoint(new PointTransfer(from, to, random.nextLong(1, 2_000)));
+                            succeeded.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            // 잔고 부족은 정상적인 거절이다.
+                        } catch (RuntimeException e) {
+                            unexpected.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        boolean completed = latch.await(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        List<UserPoint> userPoints = LongStream.rangeClosed(1, USER_COUNT).mapToObj(userPointCache::selectById).toList();
+        List<PointHistory> histories = LongStream.rangeClosed(1, USER_COUNT)
+                .mapToObj(pointHistoryWriter::selectAllByUserId).flatMap(List::stream).toList();
+        Assertions.assertAll(
+                () -> assertThat(completed).isTrue(),
+                () -> assertThat(unexpected.get()).isZero(),
+                () -> assertThat(succeeded.get()).isPositive(),
+                () -> assertThat(userPoints.stream().mapToLong(UserPoint::point).sum()).isEqualTo(USER_COUNT * INITIAL_AMOUNT),
+                () -> assertThat(userPoints).allSatisfy(userPoint -> assertThat(userPoint.point()).isNotNegative()),
+                () -> assertThat(histories.stream().filter(history -> history.type() == TransactionType.USE).count()).isEqualTo(succeeded.get()),
+                () -> assertThat(histories.stream().filter(history -> history.type() == TransactionType.CHARGE).count()).isEqualTo(succeeded.get())
+        );
+    }
+
+    private PointService service(UserPointCache userPointCache, PointCommandExecutor pointCommandExecutor) {
+        return new PointService(userPointCache, pointHistoryWriter, pointCommandExecutor, pointMetrics,
+                new IdempotencyCache(0, Duration.ZERO, pointMetrics), 1000, 500);
+    }
+}
@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.PointHistoryWriters;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("가상 스레드 모드 비교 테스트")
+public class VirtualThreadComparisonTest {
+
+    private static final int REQUEST_COUNT = 1000;
+    private static final int TOMCAT_MAX_THREADS = 200; // server.tomcat.threads.max 기본값
+
+    private final PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+    private PointHistoryWriter pointHistoryWriter;
+
+    private PointService pointService;
+
+    // PointService 가 테이블 조회에서 대기 중인 요청 수
+    private final AtomicInteger inTable = new AtomicInteger();
+    private final AtomicInteger maxInTable = new AtomicInteger();
+
+    @BeforeEach
+    void setUp(){
+        pointHistoryWriter = PointHistoryWriters.inMemory(100, 10, pointMetrics);
+        // 모든 요청이 테이블 지연을 겪도록 캐시는 사용하지 않는다.
+        UserPointTable userPointTable = new UserPointTable() {
+            @Override
+            public UserPoint selectById(Long id) {
+                maxInTable.accumulateAndGet(inTable.incrementAndGet(), Math::max);
+                try {
+                    return super.selectById(id);
+                } finally {
+                    inTable.decrementAndGet();
+                }
+            }
+        };
+        // 조회만 하므로 테이블 호출을 직렬화하는 TableUserPointStore 를 거치지 않고 테이블을 바로 부른다.
+        UserPointStore userPointStore = new UserPointStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                return userPointTable.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                return userPointTable.insertOrUpdate(id, amount);
+            }
+        };
+        UserPointCache userPointCache = new UserPointCache(userPointStore, 0);
+        UserLockManager userLockManager = new UserLockManager(new LocalUserLockProvider(), pointMetrics);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        pointService = new PointService(userPointCache, pointHistoryWriter,
+                new PointCommandCoalescer(userLockManager, pointCommandProcessor, pointMetrics), pointMetrics,
+                new IdempotencyCache(0, Duration.ZERO, pointMetrics), 1000, 500);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    @Test
+    @DisplayName("가상 스레드에서는 PointService 가 플랫폼 스레드 풀 크기보다 많은 요청의 테이블 조회를 동시에 대기한다.")
+    void maxInTable_Higher_WhenVirtualThreads() throws InterruptedException {
+        int platformMaxInTable = maxInTable(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS));
+        int virtualMaxInTable = maxInTable(Executors.newVirtualThreadPerTaskExecutor());
+
+        assertThat(virtualMaxInTable)
+                .as("플랫폼 스레드 %d건, 가상 스레드 %d건", platformMaxInTable, virtualMaxInTable)
+                .isGreaterThan(TOMCAT_MAX_THREADS)
+                .isGreaterThan(platformMaxInTable);
+    }
+
+    // 서로 다른 사용자의 포인트 조회 요청을 한꺼번에 보내고, PointService 안에서 테이블 조회를 동시에 대기한 최대 요청 수를 반환한다.
+    private int maxInTable(ExecutorService executorService) throws InterruptedException {
+        maxInTable.set(0);
+        CountDownLatch latch = new CountDownLatch(REQUEST_COUNT);
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    pointService.getUserPointById(userId);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+        return maxInTable.get();
+    }
+}
@@ -0,0 +1,187 @@
+package io.hhplus.tdd.point.unit;
+
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.PrimitiveUserPointStore;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointStore;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandProcessor;
+import io.hhplus.tdd.point.PointCommandResult;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointPartitionEngine;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("사용자별 파티션 실행기 단위 테스트")
+public class PointPartitionEngineUnitTest {
+
+    private static final int PARTITION_COUNT = 4;
+
+    @Mock
+    private PointHistoryWriter pointHistoryWriter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
+    private UserPointCache userPointCache;
+
+    private PointPartitionEngine pointPartitionEngine;
+
+    // 대기열을 작게 잡아 backpressure 경로도 함께 거치도록 한다.
+    @BeforeEach
+    void setUp(){
+        userPointCache = new UserPointCache(new PrimitiveUserPointStore(4, 16), 100);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        pointPartitionEngine = new PointPartitionEngine(pointCommandProcessor, pointMetrics, PARTITION_COUNT, 8);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointPartitionEngine.close();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 사용자들에게 충전 후 사용을 반복해도 모든 요청이 순서대로 반영되어 잔고가 맞는다.")
+    void execute_AppliesAllCommands_WhenManyThreadsSubmit() throws InterruptedException {
+        int threadCount = 8;
+        int iterations = 500;
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % 4 + 1;
+            executorService.submit(() -> {
+                try {
+                    for (int n = 0; n < iterations; n++) {
+                        // 자신의 충전이 먼저 반영되어야 사용이 성공한다.
+                        PointCommandResult charged = pointPartitionEngine.execute(PointCommand.charge(userId, 10L));
+                        PointCommandResult used = pointPartitionEngine.execute(PointCommand.use(userId, 10L));
+                        if (!charged.success() || !used.success()) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        Assertions.assertAll(
+                () -> assertThat(latch.getCount()).isZero(),
+                () -> assertThat(failures.get()).isZero(),
+                () -> assertThat(userPointCache.selectById(1L).point()).isZero(),
+                () -> assertThat(meterRegistry.get("point.coalesced.commands").summary().totalAmount()).isEqualTo(threadCount * iterations * 2)
+        );
+    }
+
+    @Test
+    @DisplayName("한 사용자의 요청 묶음은 순서대로 검증되어 규칙에 어긋난 요청만 실패한다.")
+    void executeAll_FailsOnlyInvalidCommands(){
+        List<PointCommandResult> results = pointPartitionEngine.executeAll(1L, List.of(
+                PointCommand.use(1L, 100L),   // 잔고 부족
+                PointCommand.charge(1L, 300L),
+                PointCommand.use(1L, 100L)
+        ));
+
+        assertThat(results).extracting(PointCommandResult::success).containsExactly(false, true, true);
+        assertThat(results).extracting(PointCommandResult::point).containsExactly(0L, 300L, 200L);
+    }
+
+    @Test
+    @DisplayName("이체가 저장 중에 멈춰 있어도 같은 파티션의 다른 사용자 요청은 처리되고, 이체 사용자의 요청은 이체가 끝난 뒤 처리된다.")
+    void transfer_DoesNotBlockPartition_WhileTransferring() throws Exception {
+        PrimitiveUserPointStore primitiveUserPointStore = new PrimitiveUserPointStore(4, 16);
+        AtomicBoolean blockTransfer = new AtomicBoolean();
+        CountDownLatch transferBlocked = new CountDownLatch(1);
+        CountDownLatch releaseTransfer = new CountDownLatch(1);
+        // 이체하는 두 사용자의 저장을 멈춰 이체가 끝나지 않은 상태를 만든다.
+        UserPointStore blockingStore = new UserPointStore() {
+            @Override
+            public UserPoint selectById(long id) {
+                return primitiveUserPointStore.selectById(id);
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (blockTransfer.get() && id != 3L) {
+                    transferBlocked.countDown();
+                    try {
+                        releaseTransfer.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return primitiveUserPointStore.insertOrUpdate(id, amount);
+            }
+        };
+        UserPointCache blockingCache = new UserPointCache(blockingStore, 100);
+        // 파티션이 하나뿐이라 모든 사용자가 같은 파티션 스레드를 쓴다.
+        PointPartitionEngine singlePartitionEngine = new PointPartitionEngine(
+                new PointCommandProcessor(blockingCache, pointHistoryWriter, pointMetrics), pointMetrics, 1, 8);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            singlePartitionEngine.execute(PointCommand.charge(1L, 100L));
+            blockTransfer.set(true);
+
+            Future<List<PointCommandResult>> transfer = executorService.submit(() -> singlePartitionEngine.transfer(1L, 2L, 30L));
+            transferBlocked.await(10, TimeUnit.SECONDS);
+            Future<PointCommandResult> afterTransfer = executorService.submit(() -> singlePartitionEngine.execute(PointCommand.use(1L, 70L)));
+            PointCommandResult otherUser = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> singlePartitionEngine.execute(PointCommand.charge(3L, 100L)));
+            boolean transferDoneBeforeRelease = transfer.isDone();
+            boolean afterTransferDoneBeforeRelease = afterTransfer.isDone();
+            releaseTransfer.countDown();
+
+            List<PointCommandResult> transferred = transfer.get(10, TimeUnit.SECONDS);
+            PointCommandResult used = afterTransfer.get(10, TimeUnit.SECONDS);
+            Assertions.assertAll(
+                    () -> assertThat(otherUser.success()).isTrue(),
+                    () -> assertThat(transferDoneBeforeRelease).isFalse(),
+                    () -> assertThat(afterTransferDoneBeforeRelease).isFalse(),
+                    () -> assertThat(transferred).extracting(PointCommandResult::success).containsOnly(true),
+                    () -> assertThat(used.success()).isTrue(),
+                    () -> assertThat(blockingCache.selectById(1L).point()).isZero(),
+                    () -> assertThat(blockingCache.selectById(2L).point()).isEqualTo(30L)
+            );
+        } finally {
+            releaseTransfer.countDown();
+            executorService.shutdown();
+            singlePartitionEngine.close();
+        }
+    }
+
+    @Test
+    @DisplayName("파티션마다 대기열 크기 지표가 등록되고, 종료된 뒤의 요청은 IllegalStateException 으로 거절된다.")
+    void close_RejectsCommands_AfterClosed() throws InterruptedException {
+        assertThat(meterRegistry.find("point.partition.queue.size").gauges()).hasSize(PARTITION_COUNT);
+
+        pointPartitionEngine.close();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> pointPartitionEngine.execute(PointCommand.charge(1L, 100L)));
+    }
+}
@@ -1,24 +1,42 @@
 package io.hhplus.tdd.point.unit;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.point.IdempotencyCache;
+import io.hhplus.tdd.point.LocalUserLockProvider;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandCoalescer;
+import io.hhplus.tdd.point.PointCommandProcessor;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
 import io.hhplus.tdd.point.PointService;
 import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserLockManager;
 import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -27,10 +45,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class PointServiceUnitTest {
 
     @Mock
-    private UserPointTable userPointTable;
+    private UserPointCache userPointCache;
 
     @Mock
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryWriter pointHistoryWriter;
 
     private UserPoint createMockUserPoint(Long userId){
         return new UserPoint(userId, 2000L, 17777);
@@ -41,9 +59,22 @@ public class PointServiceUnitTest {
         return Collections.singletonList(mockPointHistory);
     }
 
-    @InjectMocks
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+
     private PointService pointService;
 
+    // 충전/사용은 실제 락, 요청 합치기, 처리기를 거쳐 mock 캐시/이력 기록기에 도달한다.
+    @BeforeEach
+    void setUp(){
+        UserLockManager userLockManager = new UserLockManager(new LocalUserLockProvider(), pointMetrics);
+        PointCommandProcessor pointCommandProcessor = new PointCommandProcessor(userPointCache, pointHistoryWriter, pointMetrics);
+        pointService = new PointService(userPointCache, pointHistoryWriter,
+                new PointCommandCoalescer(userLockManager, pointCommandProcessor, pointMetrics), pointMetrics,
+                new IdempotencyCache(100, Duration.ofMinutes(1), pointMetrics), 1000, 500);
+    }
+
     @Nested
     @DisplayName("포인트 조회")
     class getUserPoint{
@@ -51,7 +82,7 @@ public class PointServiceUnitTest {
         @DisplayName("정상 케이스: 사용자 포인트 조회 정보가 mockData 와 동일한지 확인")
         void getUserPoint_Success_WhenUserIdIsValid(){
             UserPoint mockUserPoint = createMockUserPoint(1L);
-            when(userPointTable.selectById(1L)).thenReturn(mockUserPoint);
+            when(userPointCache.selectById(1L)).thenReturn(mockUserPoint);
 
             UserPoint result = pointService.getUserPointById(1L);
 
@@ -82,7 +113,7 @@ public class PointServiceUnitTest {
             Long userId = 1L;
             Long amount = 100L;
             List<PointHistory> mockUserPoint = createMockPointHistory(userId, amount);
-            when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(mockUserPoint);
+            when(pointHistoryWriter.selectAllByUserId(userId)).thenReturn(mockUserPoint);
 
             List<PointHistory> result = pointService.getUserHistoryById(userId);
 
@@ -111,7 +142,7 @@ public class PointServiceUnitTest {
             Long userId = 1L;
             Long amount = 100L;
             UserPoint mockUserPoint = createMockUserPoint(userId);
-            when(userPointTable.selectById(userId)).thenReturn(mockUserPoint);
+            when(userPointCache.selectById(userId)).thenReturn(mockUserPoint);
 
             UserPoint result = pointService.chargeUserPoint(userId, amount);
 
@@ -124,7 +155,7 @@ public class PointServiceUnitTest {
             Long userId = 1L;
             Long amount = -100L;
             UserPoint mockUserPoint = createMockUserPoint(userId);
-            when(userPointTable.selectById(userId)).thenReturn(mockUserPoint);
+            when(userPointCache.selectById(userId)).thenReturn(mockUserPoint);
 
             IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
                 pointService.chargeUserPoint(userId, amount);
@@ -139,7 +170,7 @@ public class PointServiceUnitTest {
             Long userId = 1L;
             Long amount = 200000L;
             UserPoint mockUserPoint = createMockUserPoint(userId);
-            when(userPointTable.selectById(userId)).thenReturn(mockUserPoint);
+            when(userPointCache.selectById(userId)).thenReturn(mockUserPoint);
 
             IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
                 pointService.chargeUserPoint(userId, amount);
@@ -154,7 +185,7 @@ public class PointServiceUnitTest {
             Long userId = 1L;
             Long amount = 100L;
             UserPoint mockUserPoint = new UserPoint(userId, 1000000, 1777);
-            when(userPointTable.selectById(userId)).thenReturn(mockUserPoint);
+            when(userPointCache.selectById(userId)).thenReturn(mockUserPoint);
 
             IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
                 pointService.chargeUserPoint(userId, amount);
@@ -173,7 +204,7 @@ public class PointServiceUnitTest {
             Long userId = 1L;
             Long amount = 100L;
             UserPoint mockUserPoint = createMockUserPoint(userId);
-            when(userPointTable.selectById(userId)).thenReturn(mockUserPoint);
+            when(userPointCache.selectById(userId)).thenReturn(mockUserPoint);
 
             UserPoint result = pointService.usePoint(userId, amount);
 
@@ -186,7 +217,7 @@ public class PointServiceUnitTest {
             Long userId = 1L;
             Long amount = -100L;
             UserPoint mockUserPoint = createMockUserPoint(userId);
-            when(userPointTable.selectById(userId)).thenReturn(mockUserPoint);
+            when(userPointCache.selectById(userId)).thenReturn(mockUserPoint);
 
             IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
                 pointService.usePoint(userId, amount);
@@ -201,7 +232,7 @@ public class PointServiceUnitTest {
             Long userId = 1L;
             Long amount = 10000L;
             UserPoint mockUserPoint = createMockUserPoint(userId);
-            when(userPointTable.selectById(userId)).thenReturn(mockUserPoint);
+            when(userPointCache.selectById(userId)).thenReturn(mockUserPoint);
 
             IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
                 pointService.usePoint(userId, amount);
@@ -210,4 +241,175 @@ public class PointServiceUnitTest {
             Assertions.assertTrue(exception.getMessage().contains("포인트가 부족합니다."));
         }
     }
+
+    @Nested
+    @DisplayName("Idempotency-Key")
+    class idempotency{
+        @Test
+        @DisplayName("정상 케이스: 같은 키로 다시 온 충전은 캐시/테이블을 거치지 않고 처음 결과를 반환하는지 확인")
+        void chargePoint_ReturnsFirstResult_WhenKeyIsRepeated(){
+            Long userId = 1L;
+            when(userPointCache.selectById(userId)).thenReturn(createMockUserPoint(userId));
+
+            UserPoint first = pointService.chargeUserPoint(userId, 100L, "charge-1");
+            UserPoint retried = pointService.chargeUserPoint(userId, 100L, "charge-1");
+
+            assertThat(retried).isEqualTo(first);
+            verify(userPointCache, times(1)).selectById(userId);
+        }
+
+        @Test
+        @DisplayName("정상 케이스: 처음 요청이 처리 중일 때 같은 키로 온 요청은 다시 실행하지 않고 결과를 기다리는지 확인")
+        void chargePoint_WaitsForFirstCall_WhenKeyIsInFlight() throws Exception {
+            Long userId = 1L;
+            when(userPointCache.selectById(userId)).thenAnswer(invocation -> {
+                TimeUnit.MILLISECONDS.sleep(100);
+                return createMockUserPoint(userId);
+            });
+            ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+            List<Future<UserPoint>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executorService.submit(() -> pointService.chargeUserPoint(userId, 100L, "charge-2")));
+            }
+            List<Long> points = new ArrayList<>();
+            for (Future<UserPoint> future : futures) {
+                points.add(future.get(10, TimeUnit.SECONDS).point());
+            }
+            executorService.shutdown();
+
+            assertThat(points).containsOnly(2100L);
+            verify(userPointCache, times(1)).selectById(userId);
+        }
+
+        @Test
+        @DisplayName("비정상 케이스: 같은 키로 다른 금액을 보낸 경우 IllegalArgumentException 오류 발생 확인")
+        void chargePoint_ThrowsIllegalArgumentException_WhenKeyReusedForDifferentAmount(){
+            Long userId = 1L;
+            when(userPointCache.selectById(userId)).thenReturn(createMockUserPoint(userId));
+            pointService.chargeUserPoint(userId, 100L, "charge-3");
+
+            IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, () -> {
+                pointService.chargeUserPoint(userId, 200L, "charge-3");
+            });
+
+            Assertions.assertTrue(exception.getMessage().contains("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."));
+        }
+
+        @Test
+        @DisplayName("정상 케이스: 실패한 요청과 ttl 이 지난 요청은 같은 키로 다시 실행되는지 확인")
+        void execute_RunsAgain_WhenFailedOrExpired() throws InterruptedException {
+            IdempotencyCache idempotencyCache = new IdempotencyCache(100, Duration.ofMillis(50), pointMetrics);
+            PointCommand command = PointCommand.use(1L, 100L);
+            AtomicInteger calls = new AtomicInteger();
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> idempotencyCache.execute("use-1", command, () -> {
+                calls.incrementAndGet();
+                throw new IllegalArgumentException("포인트가 부족합니다.");
+            }));
+            idempotencyCache.execute("use-1", command, () -> new UserPoint(1L, calls.incrementAndGet(), 0L));
+            idempotencyCache.execute("use-1", command, () -> new UserPoint(1L, calls.incrementAndGet(), 0L));
+            TimeUnit.MILLISECONDS.sleep(100);
+            UserPoint afterExpired = idempotencyCache.execute("use-1", command, () -> new UserPoint(1L, calls.incrementAndGet(), 0L));
+
+            assertThat(calls.get()).isEqualTo(3);
+            assertThat(afterExpired.point()).isEqualTo(3L);
+        }
+
+        @Test
+        @DisplayName("정상 케이스: 처음 요청이 Error 로 끝나도 키를 남기지 않아 같은 키로 다시 실행되는지 확인")
+        void execute_RunsAgain_WhenFirstCallThrowsError(){
+            IdempotencyCache idempotencyCache = new IdempotencyCache(100, Duration.ofMinutes(1), pointMetrics);
+            PointCommand command = PointCommand.charge(1L, 100L);
+
+            Assertions.assertThrows(StackOverflowError.class, () -> idempotencyCache.execute("charge-e", command, () -> {
+                throw new StackOverflowError();
+            }));
+            // 키가 남아 있으면 끝나지 않는 결과를 기다리게 되므로 시간 제한을 둔다.
+            UserPoint retried = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> idempotencyCache.execute("charge-e", command, () -> new UserPoint(1L, 100L, 0L)));
+
+            Assertions.assertAll(
+                    () -> assertThat(retried.point()).isEqualTo(100L),
+                    () -> assertThat(idempotencyCache.size()).isEqualTo(1)
+            );
+        }
+
+        @Test
+        @DisplayName("정상 케이스: 최대 크기를 넘어도 처리 중인 키는 제거하지 않아, 같은 키로 다시 온 요청이 다시 실행되지 않는지 확인")
+        void execute_KeepsInFlightKey_WhenExceededMaxSize() throws Exception {
+            IdempotencyCache idempotencyCache = new IdempotencyCache(1, Duration.ofMinutes(1), pointMetrics);
+            PointCommand command = PointCommand.charge(1L, 100L);
+            AtomicInteger calls = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+            Future<UserPoint> inFlight = executorService.submit(() -> idempotencyCache.execute("charge-a", command, () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return new UserPoint(1L, 100L, 0L);
+            }));
+            started.await();
+            idempotencyCache.execute("charge-b", PointCommand.charge(2L, 100L), () -> new UserPoint(2L, 100L, 0L));
+            int sizeWhileInFlight = idempotencyCache.size();
+            release.countDown();
+            UserPoint first = inFlight.get(10, TimeUnit.SECONDS);
+            UserPoint retried = idempotencyCache.execute("charge-a", command, () -> new UserPoint(1L, calls.incrementAndGet(), 0L));
+            executorService.shutdown();
+
+            Assertions.assertAll(
+                    () -> assertThat(sizeWhileInFlight).isEqualTo(2),
+                    () -> assertThat(retried).isEqualTo(first),
+                    () -> assertThat(calls.get()).isEqualTo(1)
+            );
+        }
+
+        @Test
+        @DisplayName("정상 케이스: 기억 중인 키 수 gauge 는 생성이 끝난 뒤 registerMetrics 에서 등록되는지 확인")
+        void registerMetrics_RegistersSizeGauge_AfterConstruction(){
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            IdempotencyCache idempotencyCache = new IdempotencyCache(100, Duration.ofMinutes(1), new PointMetrics(registry));
+
+            assertThat(registry.find("point.idempotency.size").gauge()).isNull();
+            idempotencyCache.registerMetrics();
+            idempotencyCache.execute("charge-1", PointCommand.charge(1L, 100L), () -> new UserPoint(1L, 100L, 0L));
+
+            assertThat(registry.get("point.idempotency.size").gauge().value()).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("계측")
+    class metrics{
+        @Test
+        @DisplayName("정상 케이스: 충전 성공 시 서비스 호출 시간과 사용자 락 대기/보유 시간이 기록되는지 확인")
+        void chargePoint_RecordsServiceAndLockTimers_WhenSucceeded(){
+            Long userId = 1L;
+            when(userPointCache.selectById(userId)).thenReturn(createMockUserPoint(userId));
+
+            pointService.chargeUserPoint(userId, 100L);
+
+            assertThat(meterRegistry.get("point.service").tags("operation", "charge", "outcome", "success").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("point.lock.wait").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("point.lock.hold").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("비정상 케이스: 포인트가 부족한 경우 rejected 로 기록되고 거절 사유별로 집계되는지 확인")
+        void usePoint_CountsRejection_WhenPointNotEnough(){
+            Long userId = 1L;
+            when(userPointCache.selectById(userId)).thenReturn(createMockUserPoint(userId));
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> pointService.usePoint(userId, 10000L));
+
+            assertThat(meterRegistry.get("point.service").tags("operation", "use", "outcome", "rejected").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("point.rejections").tags("operation", "use", "reason", "insufficient_point").counter().count()).isEqualTo(1);
+        }
+    }
 }